@@ -1,12 +1,12 @@
 
 public class Airfoil {
-    private String name;
-    private double maxCl;           // Maximum lift coefficient
-    private double minCd;           // Minimum drag coefficient
-    private double reynoldsMin;     // Minimum Reynolds number
-    private double reynoldsMax;     // Maximum Reynolds number
-    private String applicationType; // Application type (e.g., "Low Speed", "High Speed")
-    private double thickness;       // Thickness ratio
+    private final String name;
+    private final double maxCl;           // Maximum lift coefficient
+    private final double minCd;           // Minimum drag coefficient
+    private final double reynoldsMin;     // Minimum Reynolds number
+    private final double reynoldsMax;     // Maximum Reynolds number
+    private final String applicationType; // Application type (e.g., "Low Speed", "High Speed")
+    private final double thickness;       // Thickness ratio
 
     
     public Airfoil(String name, double maxCl, double minCd, double reynoldsMin, 
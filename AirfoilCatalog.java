@@ -0,0 +1,254 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, column-oriented snapshot of the airfoil table.
+ *
+ * Numeric attributes are kept in parallel primitive arrays so that the
+ * recommendation code can scan them without touching SQLite or allocating.
+ * A new snapshot is built (copy-on-write) whenever the catalog changes and
+ * published by {@link AirfoilService}; readers keep using whatever snapshot
+ * they picked up.
+ */
+public final class AirfoilCatalog {
+    private static final AirfoilCatalog EMPTY = fromArray(0L, new Airfoil[0]);
+
+    private final long version;
+    // Entries may be null when the snapshot was read from a catalog file; they are
+    // built from the columns on first access (racing builders create equal objects)
+    private final Airfoil[] airfoils;
+    private final String[] names; // names of rows not built yet (shared, never written), or null
+    private final List<Airfoil> airfoilView;
+
+    // Columns (index i describes airfoils[i])
+    private final double[] maxCl;
+    private final double[] minCd;
+    private final double[] reynoldsMin;
+    private final double[] reynoldsMax;
+    private final double[] thickness;
+    private final String[] applicationType; // interned, compare with ==
+
+    // Built on first use, then shared by every reader of this snapshot
+    private volatile ReynoldsIndex reynoldsIndex;
+    private volatile Map<String, Integer> nameIndex;
+    private volatile Map<String, int[]> typeIndex;
+    private final AirfoilQuery.SortIndex[] sortIndexes = new AirfoilQuery.SortIndex[AirfoilQuery.Sort.values().length];
+
+    private AirfoilCatalog(long version, Airfoil[] airfoils, String[] names,
+                           double[] maxCl, double[] minCd, double[] reynoldsMin, double[] reynoldsMax,
+                           double[] thickness, String[] applicationType) {
+        this.version = version;
+        this.airfoils = airfoils;
+        this.names = names;
+        this.maxCl = maxCl;
+        this.minCd = minCd;
+        this.reynoldsMin = reynoldsMin;
+        this.reynoldsMax = reynoldsMax;
+        this.thickness = thickness;
+        this.applicationType = applicationType;
+        this.airfoilView = new View();
+    }
+
+    private static AirfoilCatalog fromArray(long version, Airfoil[] airfoils) {
+        int n = airfoils.length;
+        double[] maxCl = new double[n];
+        double[] minCd = new double[n];
+        double[] reynoldsMin = new double[n];
+        double[] reynoldsMax = new double[n];
+        double[] thickness = new double[n];
+        String[] applicationType = new String[n];
+        for (int i = 0; i < n; i++) {
+            Airfoil a = airfoils[i];
+            maxCl[i] = a.getMaxCl();
+            minCd[i] = a.getMinCd();
+            reynoldsMin[i] = a.getReynoldsMin();
+            reynoldsMax[i] = a.getReynoldsMax();
+            thickness[i] = a.getThickness();
+            String type = a.getApplicationType();
+            applicationType[i] = (type == null) ? null : type.intern();
+        }
+        return new AirfoilCatalog(version, airfoils, null, maxCl, minCd, reynoldsMin, reynoldsMax, thickness, applicationType);
+    }
+
+    /**
+     * Snapshot over already decoded columns; {@link Airfoil} objects are only
+     * created when a row is accessed, taking the name from {@code names}.
+     * The arrays are owned by the new snapshot from here on.
+     */
+    static AirfoilCatalog fromColumns(long version, String[] names,
+                                      double[] maxCl, double[] minCd, double[] reynoldsMin, double[] reynoldsMax,
+                                      double[] thickness, String[] applicationType) {
+        return new AirfoilCatalog(version, new Airfoil[maxCl.length], names,
+            maxCl, minCd, reynoldsMin, reynoldsMax, thickness, applicationType);
+    }
+
+    public static AirfoilCatalog empty() {
+        return EMPTY;
+    }
+
+    public static AirfoilCatalog of(long version, List<Airfoil> airfoils) {
+        return fromArray(version, airfoils.toArray(new Airfoil[0]));
+    }
+
+    /**
+     * Return a new snapshot containing this catalog plus the given airfoil.
+     */
+    public AirfoilCatalog withAirfoil(Airfoil airfoil) {
+        return withAirfoils(Collections.singletonList(airfoil));
+    }
+
+    /**
+     * Return a new snapshot containing this catalog plus the given airfoils.
+     * Rows that have not been built yet stay that way.
+     */
+    public AirfoilCatalog withAirfoils(List<Airfoil> added) {
+        int n = airfoils.length;
+        int total = n + added.size();
+        Airfoil[] all = Arrays.copyOf(airfoils, total);
+        double[] cl = Arrays.copyOf(maxCl, total);
+        double[] cd = Arrays.copyOf(minCd, total);
+        double[] reMin = Arrays.copyOf(reynoldsMin, total);
+        double[] reMax = Arrays.copyOf(reynoldsMax, total);
+        double[] thk = Arrays.copyOf(thickness, total);
+        String[] types = Arrays.copyOf(applicationType, total);
+        for (int k = 0; k < added.size(); k++) {
+            Airfoil a = added.get(k);
+            int i = n + k;
+            all[i] = a;
+            cl[i] = a.getMaxCl();
+            cd[i] = a.getMinCd();
+            reMin[i] = a.getReynoldsMin();
+            reMax[i] = a.getReynoldsMax();
+            thk[i] = a.getThickness();
+            types[i] = (a.getApplicationType() == null) ? null : a.getApplicationType().intern();
+        }
+        return new AirfoilCatalog(version + 1, all, names, cl, cd, reMin, reMax, thk, types);
+    }
+
+    public long getVersion() { return version; }
+    public int size() { return airfoils.length; }
+
+    public Airfoil get(int i) {
+        Airfoil a = airfoils[i];
+        if (a == null) {
+            a = new Airfoil(names[i], maxCl[i], minCd[i], reynoldsMin[i], reynoldsMax[i],
+                applicationType[i], thickness[i]);
+            airfoils[i] = a;
+        }
+        return a;
+    }
+
+    /** Name of row {@code i}, without building its {@link Airfoil} if it has not been yet. */
+    String nameAt(int i) {
+        Airfoil a = airfoils[i];
+        return (a != null) ? a.getName() : names[i];
+    }
+
+    /**
+     * Read-only view of the airfoils in catalog order (no copy).
+     */
+    public List<Airfoil> asList() { return airfoilView; }
+
+    private final class View extends AbstractList<Airfoil> implements RandomAccess {
+        @Override
+        public Airfoil get(int index) {
+            return AirfoilCatalog.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return airfoils.length;
+        }
+    }
+
+    /**
+     * Interval index over the Reynolds ranges of this snapshot.
+     */
+    public ReynoldsIndex reynoldsIndex() {
+        ReynoldsIndex index = reynoldsIndex;
+        if (index == null) {
+            index = new ReynoldsIndex(reynoldsMin, reynoldsMax);
+            reynoldsIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Position of the airfoil with this name (case-insensitive), or -1.
+     */
+    public int indexOf(String name) {
+        if (name == null) {
+            return -1;
+        }
+        Map<String, Integer> index = nameIndex;
+        if (index == null) {
+            index = new HashMap<>(airfoils.length * 2);
+            for (int i = 0; i < airfoils.length; i++) {
+                String key = nameAt(i);
+                if (key != null) {
+                    index.putIfAbsent(key.toLowerCase(Locale.ROOT), i);
+                }
+            }
+            nameIndex = index;
+        }
+        Integer i = index.get(name.trim().toLowerCase(Locale.ROOT));
+        return i == null ? -1 : i;
+    }
+
+    /**
+     * Positions of the airfoils with this application type (case-insensitive),
+     * in catalog order. The returned array is shared and must not be modified.
+     */
+    int[] applicationTypeRows(String type) {
+        Map<String, int[]> index = typeIndex;
+        if (index == null) {
+            Map<String, int[]> built = new HashMap<>();
+            Map<String, Integer> counts = new HashMap<>();
+            for (String t : applicationType) {
+                if (t != null) {
+                    counts.merge(t.toLowerCase(Locale.ROOT), 1, Integer::sum);
+                }
+            }
+            Map<String, Integer> filled = new HashMap<>();
+            for (int i = 0; i < applicationType.length; i++) {
+                if (applicationType[i] == null) {
+                    continue;
+                }
+                String key = applicationType[i].toLowerCase(Locale.ROOT);
+                int[] rows = built.computeIfAbsent(key, k -> new int[counts.get(k)]);
+                rows[filled.merge(key, 1, Integer::sum) - 1] = i;
+            }
+            index = built;
+            typeIndex = index;
+        }
+        int[] rows = (type == null) ? null : index.get(type.trim().toLowerCase(Locale.ROOT));
+        return rows == null ? new int[0] : rows;
+    }
+
+    /**
+     * Sort-order index for one {@link AirfoilQuery.Sort} key, built on first use.
+     */
+    AirfoilQuery.SortIndex sortIndex(AirfoilQuery.Sort sort) {
+        // Racing builders produce equal, immutable indexes, so a plain array slot is enough
+        AirfoilQuery.SortIndex index = sortIndexes[sort.ordinal()];
+        if (index == null) {
+            index = new AirfoilQuery.SortIndex(this, sort);
+            sortIndexes[sort.ordinal()] = index;
+        }
+        return index;
+    }
+
+    // Column accessors: the arrays are shared, callers must not modify them
+    double[] maxClColumn() { return maxCl; }
+    double[] minCdColumn() { return minCd; }
+    double[] reynoldsMinColumn() { return reynoldsMin; }
+    double[] reynoldsMaxColumn() { return reynoldsMax; }
+    double[] thicknessColumn() { return thickness; }
+    String[] applicationTypeColumn() { return applicationType; }
+}
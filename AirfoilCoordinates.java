@@ -0,0 +1,159 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Airfoil section coordinates read from a Selig or Lednicer .dat file.
+ *
+ * Points are always stored in Selig order: from the trailing edge over the
+ * upper surface to the leading edge, then back along the lower surface.
+ */
+public class AirfoilCoordinates {
+    private static final int THICKNESS_STATIONS = 200;
+
+    private final String name;
+    private final double[] x;
+    private final double[] y;
+
+    public AirfoilCoordinates(String name, double[] x, double[] y) {
+        if (x.length != y.length || x.length < 3) {
+            throw new IllegalArgumentException("An airfoil needs at least 3 matching x/y points");
+        }
+        this.name = name;
+        this.x = x;
+        this.y = y;
+    }
+
+    public String getName() { return name; }
+    public int size() { return x.length; }
+    public double getX(int i) { return x[i]; }
+    public double getY(int i) { return y[i]; }
+
+    /**
+     * Parse a Selig or Lednicer coordinate file. The first line is the name.
+     */
+    public static AirfoilCoordinates parse(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.ISO_8859_1)) {
+            String name = reader.readLine();
+            if (name == null || name.isBlank()) {
+                throw new IOException("Empty coordinate file");
+            }
+            List<double[]> rows = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                double[] pair = parsePair(line);
+                if (pair != null) {
+                    rows.add(pair);
+                } else if (!line.isBlank()) {
+                    throw new IOException("Unreadable coordinate line: " + line.trim());
+                }
+            }
+            if (rows.isEmpty()) {
+                throw new IOException("No coordinates found");
+            }
+
+            // Lednicer files start with the point counts of each surface, e.g. "17.  17."
+            double[] first = rows.get(0);
+            if (first[0] > 1.5 && first[1] > 1.5) {
+                return fromLednicer(name.trim(), rows, (int) first[0], (int) first[1]);
+            }
+            return fromSelig(name.trim(), rows);
+        }
+    }
+
+    private static AirfoilCoordinates fromSelig(String name, List<double[]> rows) {
+        double[] x = new double[rows.size()];
+        double[] y = new double[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            x[i] = rows.get(i)[0];
+            y[i] = rows.get(i)[1];
+        }
+        return new AirfoilCoordinates(name, x, y);
+    }
+
+    private static AirfoilCoordinates fromLednicer(String name, List<double[]> rows, int upperCount, int lowerCount)
+            throws IOException {
+        if (rows.size() - 1 != upperCount + lowerCount) {
+            throw new IOException("Lednicer header expects " + (upperCount + lowerCount)
+                + " points but file has " + (rows.size() - 1));
+        }
+        // Upper surface is listed LE->TE: reverse it, then append the lower surface without its LE point
+        int n = upperCount + lowerCount - 1;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        int k = 0;
+        for (int i = upperCount; i >= 1; i--) {
+            x[k] = rows.get(i)[0];
+            y[k++] = rows.get(i)[1];
+        }
+        for (int i = upperCount + 2; i <= upperCount + lowerCount; i++) {
+            x[k] = rows.get(i)[0];
+            y[k++] = rows.get(i)[1];
+        }
+        return new AirfoilCoordinates(name, x, y);
+    }
+
+    private static double[] parsePair(String line) {
+        double[] pair = new double[2];
+        return NumericLine.parse(line, pair) == 2 ? pair : null;
+    }
+
+    /**
+     * Index of the leading edge (smallest x), which splits upper and lower surfaces.
+     */
+    public int leadingEdgeIndex() {
+        int le = 0;
+        for (int i = 1; i < x.length; i++) {
+            if (x[i] < x[le]) le = i;
+        }
+        return le;
+    }
+
+    public double chord() {
+        double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+        for (double xi : x) {
+            minX = Math.min(minX, xi);
+            maxX = Math.max(maxX, xi);
+        }
+        return maxX - minX;
+    }
+
+    /**
+     * Maximum thickness as a fraction of chord (0.12 for a 12% section).
+     */
+    public double maxThickness() {
+        int le = leadingEdgeIndex();
+        double chord = chord();
+        if (le == 0 || le == x.length - 1 || !(chord > 0)) {
+            return 0.0;
+        }
+        double x0 = x[le];
+        double best = 0.0;
+        int upper = le; // current upper segment runs from upper to upper - 1
+        int lower = le; // current lower segment runs from lower to lower + 1
+        // Cosine spacing puts more stations near the leading edge where the surfaces curve fastest.
+        // Stations only move aft, so each surface is walked once.
+        for (int s = 1; s < THICKNESS_STATIONS; s++) {
+            double xs = x0 + chord * 0.5 * (1 - Math.cos(Math.PI * s / THICKNESS_STATIONS));
+            while (upper > 0 && x[upper - 1] < xs) upper--;
+            while (lower < x.length - 1 && x[lower + 1] < xs) lower++;
+            if (upper == 0 || lower == x.length - 1) {
+                break;
+            }
+            double yUpper = interpolate(upper, upper - 1, xs);
+            double yLower = interpolate(lower, lower + 1, xs);
+            best = Math.max(best, yUpper - yLower);
+        }
+        return best / chord;
+    }
+
+    private double interpolate(int a, int b, double xs) {
+        double dx = x[b] - x[a];
+        if (dx == 0) return 0.5 * (y[a] + y[b]);
+        return y[a] + (y[b] - y[a]) * (xs - x[a]) / dx;
+    }
+}
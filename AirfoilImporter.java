@@ -0,0 +1,266 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bulk import of airfoils from a directory of coordinate and polar files.
+ *
+ * Every {@code <name>.dat} coordinate file (Selig or Lednicer) becomes one
+ * airfoil. Its polars are the {@code .pol}/{@code .polar} files whose name is
+ * the same stem, optionally followed by {@code _suffix} or {@code -suffix}
+ * (e.g. {@code naca2412_re100k.pol}), anywhere under the directory; a second
+ * coordinate file with the same name in another subdirectory is reported as
+ * failed rather than imported, along with the polars next to it. Thickness
+ * comes from the coordinates; maxCl, minCd and the Reynolds range from the
+ * polars. The polars themselves
+ * are stored too, replacing any the airfoil had before. Sections without
+ * polar files are reported as failed unless the importer was created to
+ * compute them with {@link PanelSolver}, which costs about 0.1 s per section
+ * instead of well under a millisecond.
+ *
+ * Files are parsed in parallel, one batch at a time, and each batch is
+ * written with a single upsert transaction.
+ */
+public class AirfoilImporter {
+    public static final int DEFAULT_BATCH_SIZE = 1_000;
+
+    /**
+     * Per-file progress callbacks, always invoked on the importing thread.
+     */
+    public interface Listener {
+        default void fileImported(Path file, Airfoil airfoil) { }
+        default void fileFailed(Path file, String error) { }
+        default void batchWritten(int processed, int total) { }
+    }
+
+    /**
+     * Outcome of an import run.
+     */
+    public static class Summary {
+        private final int total;
+        private final int imported;
+        private final Map<Path, String> errors;
+        private final long elapsedMillis;
+
+        Summary(int total, int imported, Map<Path, String> errors, long elapsedMillis) {
+            this.total = total;
+            this.imported = imported;
+            this.errors = errors;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getTotal() { return total; }
+        public int getImported() { return imported; }
+        public int getFailed() { return errors.size(); }
+        public Map<Path, String> getErrors() { return errors; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        public double getAirfoilsPerSecond() {
+            return elapsedMillis == 0 ? imported : imported * 1000.0 / elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Imported %d of %d airfoils (%d failed) in %.1f s, %.0f airfoils/s",
+                imported, total, getFailed(), elapsedMillis / 1000.0, getAirfoilsPerSecond());
+        }
+    }
+
+    private final DatabaseService dbService;
+    private final String applicationType;
+    private final int batchSize;
+    private final boolean computeMissingPolars;
+
+    public AirfoilImporter(DatabaseService dbService, String applicationType) {
+        this(dbService, applicationType, DEFAULT_BATCH_SIZE, false);
+    }
+
+    public AirfoilImporter(DatabaseService dbService, String applicationType, int batchSize) {
+        this(dbService, applicationType, batchSize, false);
+    }
+
+    /**
+     * @param computeMissingPolars run the panel solver for sections without polar files
+     *                             instead of reporting them as failed
+     */
+    public AirfoilImporter(DatabaseService dbService, String applicationType, int batchSize,
+                           boolean computeMissingPolars) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.dbService = dbService;
+        this.applicationType = applicationType;
+        this.batchSize = batchSize;
+        this.computeMissingPolars = computeMissingPolars;
+    }
+
+    public Summary importDirectory(Path directory, Listener listener) throws IOException {
+        long start = System.nanoTime();
+        Map<String, Path> coordinateFiles = new LinkedHashMap<>();
+        List<Path> polarFiles = new ArrayList<>();
+        Map<Path, String> errors = new LinkedHashMap<>();
+        Map<Path, Path> skipped = new HashMap<>(); // directory/stem of a skipped duplicate -> its file
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+                if (fileName.endsWith(".dat")) {
+                    // Polars are matched by stem alone, so a second file with the same stem is ambiguous
+                    Path first = coordinateFiles.putIfAbsent(stem(fileName), file);
+                    if (first != null) {
+                        skipped.put(file.resolveSibling(stem(fileName)), file);
+                        String error = "Same file name as " + directory.relativize(first) + ", skipped";
+                        errors.put(file, error);
+                        listener.fileFailed(file, error);
+                    }
+                } else if (fileName.endsWith(".pol") || fileName.endsWith(".polar")) {
+                    polarFiles.add(file);
+                }
+            });
+        }
+
+        // Attach each polar to the coordinate file with the longest matching stem
+        Map<String, List<Path>> polarsByStem = new HashMap<>();
+        for (Path polar : polarFiles) {
+            String key = matchStem(stem(polar.getFileName().toString().toLowerCase(Locale.ROOT)), coordinateFiles);
+            Path duplicate = (key == null) ? null : skipped.get(polar.resolveSibling(key));
+            if (key == null) {
+                errors.put(polar, "No matching coordinate file");
+                listener.fileFailed(polar, "No matching coordinate file");
+            } else if (duplicate != null) {
+                String error = "Belongs to skipped " + directory.relativize(duplicate);
+                errors.put(polar, error);
+                listener.fileFailed(polar, error);
+            } else {
+                polarsByStem.computeIfAbsent(key, k -> new ArrayList<>()).add(polar);
+            }
+        }
+
+        List<Map.Entry<String, Path>> entries = new ArrayList<>(coordinateFiles.entrySet());
+        int total = entries.size();
+        int imported = 0;
+        for (int from = 0; from < total; from += batchSize) {
+            List<Map.Entry<String, Path>> chunk = entries.subList(from, Math.min(total, from + batchSize));
+            List<Outcome> outcomes = chunk.parallelStream()
+                .map(e -> parse(e.getValue(), polarsByStem.getOrDefault(e.getKey(), List.of())))
+                .collect(Collectors.toList());
+
+            List<Airfoil> batch = new ArrayList<>(outcomes.size());
+            Map<String, List<AirfoilPolar>> polars = new HashMap<>();
+            for (Outcome outcome : outcomes) {
+                if (outcome.airfoil != null) {
+                    batch.add(outcome.airfoil);
+                    polars.put(outcome.airfoil.getName(), outcome.polars);
+                }
+            }
+            boolean written = dbService.upsertAirfoils(batch, polars) >= 0;
+            for (Outcome outcome : outcomes) {
+                String error = outcome.error;
+                if (error == null && !written) {
+                    error = "Database write failed";
+                }
+                if (error == null) {
+                    imported++;
+                    listener.fileImported(outcome.file, outcome.airfoil);
+                } else {
+                    errors.put(outcome.file, error);
+                    listener.fileFailed(outcome.file, error);
+                }
+            }
+            listener.batchWritten(from + chunk.size(), total);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return new Summary(total, imported, errors, elapsedMillis);
+    }
+
+    // ----- Per-file parsing -----
+    private static final class Outcome {
+        final Path file;
+        final Airfoil airfoil;
+        final List<AirfoilPolar> polars;
+        final String error;
+
+        Outcome(Path file, Airfoil airfoil, List<AirfoilPolar> polars, String error) {
+            this.file = file;
+            this.airfoil = airfoil;
+            this.polars = polars;
+            this.error = error;
+        }
+
+        static Outcome failed(Path file, String error) {
+            return new Outcome(file, null, List.of(), error);
+        }
+    }
+
+    private Outcome parse(Path coordinateFile, List<Path> polarFiles) {
+        try {
+            if (polarFiles.isEmpty() && !computeMissingPolars) {
+                return Outcome.failed(coordinateFile, "No polar files found");
+            }
+            AirfoilCoordinates coordinates = AirfoilCoordinates.parse(coordinateFile);
+            List<AirfoilPolar> polars = new ArrayList<>(polarFiles.size());
+            for (Path polarFile : polarFiles) {
+                try {
+                    polars.add(AirfoilPolar.parse(polarFile));
+                } catch (IOException e) {
+                    return Outcome.failed(coordinateFile, polarFile.getFileName() + ": " + e.getMessage());
+                }
+            }
+            if (polars.isEmpty()) {
+                polars = PanelSolver.computePolars(coordinates, PanelSolver.DEFAULT_REYNOLDS);
+            }
+            String name = coordinates.getName().isEmpty() ? stem(coordinateFile.getFileName().toString()) : coordinates.getName();
+            Airfoil airfoil = toAirfoil(name, applicationType, coordinates, polars);
+            return new Outcome(coordinateFile, airfoil, polars, null);
+        } catch (IOException | RuntimeException e) {
+            return Outcome.failed(coordinateFile, e.getMessage() == null ? e.toString() : e.getMessage());
+        }
+    }
+
+    /**
+     * Catalog row for a section: thickness from the coordinates, maxCl,
+     * minCd and the Reynolds range from its (non-empty) polars.
+     */
+    static Airfoil toAirfoil(String name, String applicationType, AirfoilCoordinates coordinates,
+                             List<AirfoilPolar> polars) {
+        double maxCl = Double.NEGATIVE_INFINITY;
+        double minCd = Double.POSITIVE_INFINITY;
+        double reynoldsMin = Double.POSITIVE_INFINITY;
+        double reynoldsMax = Double.NEGATIVE_INFINITY;
+        for (AirfoilPolar polar : polars) {
+            maxCl = Math.max(maxCl, polar.maxCl());
+            minCd = Math.min(minCd, polar.minCd());
+            reynoldsMin = Math.min(reynoldsMin, polar.getReynolds());
+            reynoldsMax = Math.max(reynoldsMax, polar.getReynolds());
+        }
+        return new Airfoil(name, maxCl, minCd, reynoldsMin, reynoldsMax, applicationType, coordinates.maxThickness());
+    }
+
+    private static String stem(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? fileName : fileName.substring(0, dot);
+    }
+
+    // "naca2412_re100k" -> "naca2412" if that coordinate file exists
+    private static String matchStem(String polarStem, Map<String, Path> coordinateFiles) {
+        String candidate = polarStem;
+        while (true) {
+            if (coordinateFiles.containsKey(candidate)) {
+                return candidate;
+            }
+            int cut = Math.max(candidate.lastIndexOf('_'), candidate.lastIndexOf('-'));
+            if (cut <= 0) {
+                return null;
+            }
+            candidate = candidate.substring(0, cut);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of an {@link AirfoilQuery} result.
+ */
+public class AirfoilPage {
+    private final List<Airfoil> airfoils;
+    private final int totalMatches;
+    private final AirfoilQuery.Cursor nextCursor;
+    private final long catalogVersion;
+
+    public AirfoilPage(List<Airfoil> airfoils, int totalMatches, AirfoilQuery.Cursor nextCursor, long catalogVersion) {
+        this.airfoils = Collections.unmodifiableList(airfoils);
+        this.totalMatches = totalMatches;
+        this.nextCursor = nextCursor;
+        this.catalogVersion = catalogVersion;
+    }
+
+    public List<Airfoil> getAirfoils() { return airfoils; }
+    public int getTotalMatches() { return totalMatches; }
+    public long getCatalogVersion() { return catalogVersion; }
+
+    /** Cursor for the following page, or null if this is the last one. */
+    public AirfoilQuery.Cursor getNextCursor() { return nextCursor; }
+
+    public boolean hasMore() { return nextCursor != null; }
+}
@@ -0,0 +1,143 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One measured or computed polar (Cl, Cd, Cm against alpha) at a single Reynolds number.
+ */
+public class AirfoilPolar {
+    // Matches XFOIL's "Re =     0.500 e 6" as well as "Re = 500000" or "Re = 5e5"
+    private static final Pattern REYNOLDS = Pattern.compile("Re\\s*=\\s*([0-9]*\\.?[0-9]+)\\s*(?:[eE]\\s*([+-]?[0-9]+))?");
+
+    private static final int MAX_COLUMNS = 12;
+
+    private final double reynolds;
+    private final double[] alpha;
+    private final double[] cl;
+    private final double[] cd;
+    private final double[] cm;
+
+    public AirfoilPolar(double reynolds, double[] alpha, double[] cl, double[] cd, double[] cm) {
+        if (alpha.length != cl.length || alpha.length != cd.length || alpha.length != cm.length) {
+            throw new IllegalArgumentException("Polar columns must have the same length");
+        }
+        this.reynolds = reynolds;
+        this.alpha = alpha;
+        this.cl = cl;
+        this.cd = cd;
+        this.cm = cm;
+    }
+
+    public double getReynolds() { return reynolds; }
+    public int size() { return alpha.length; }
+    public double getAlpha(int i) { return alpha[i]; }
+    public double getCl(int i) { return cl[i]; }
+    public double getCd(int i) { return cd[i]; }
+    public double getCm(int i) { return cm[i]; }
+
+    public double maxCl() {
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : cl) max = Math.max(max, v);
+        return max;
+    }
+
+    public double minCd() {
+        double min = Double.POSITIVE_INFINITY;
+        for (double v : cd) min = Math.min(min, v);
+        return min;
+    }
+
+    // ----- Storage -----
+    /**
+     * The rows as one blob for the database: the alpha, Cl, Cd and Cm
+     * columns one after the other, as big-endian doubles.
+     */
+    byte[] toBytes() {
+        int n = alpha.length;
+        ByteBuffer buffer = ByteBuffer.allocate(n * 4 * Double.BYTES);
+        buffer.asDoubleBuffer().put(alpha).put(cl).put(cd).put(cm);
+        return buffer.array();
+    }
+
+    static AirfoilPolar fromBytes(double reynolds, byte[] bytes) {
+        int n = bytes.length / (4 * Double.BYTES);
+        double[] a = new double[n], l = new double[n], d = new double[n], m = new double[n];
+        ByteBuffer.wrap(bytes).asDoubleBuffer().get(a).get(l).get(d).get(m);
+        return new AirfoilPolar(reynolds, a, l, d, m);
+    }
+
+    /**
+     * Parse an XFOIL-style polar: a header with "Re = ..." followed by rows of
+     * alpha, CL, CD and (after CDp) CM. Files without the XFOIL dashed
+     * separator are read as plain "alpha CL CD [CM]" rows.
+     */
+    public static AirfoilPolar parse(Path file) throws IOException {
+        double reynolds = Double.NaN;
+        boolean xfoilColumns = false;
+        boolean inTable = false;
+        int n = 0;
+        double[] a = new double[64], l = new double[64], d = new double[64], m = new double[64];
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.ISO_8859_1)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                if (!inTable) {
+                    Matcher matcher = REYNOLDS.matcher(trimmed);
+                    if (Double.isNaN(reynolds) && matcher.find()) {
+                        double mantissa = Double.parseDouble(matcher.group(1));
+                        int exponent = matcher.group(2) == null ? 0 : Integer.parseInt(matcher.group(2));
+                        reynolds = mantissa * Math.pow(10, exponent);
+                    }
+                    if (trimmed.startsWith("---")) {
+                        xfoilColumns = true;
+                        inTable = true;
+                        continue;
+                    }
+                }
+                double[] row = parseRow(trimmed);
+                if (row == null) {
+                    if (inTable) break; // end of the data block
+                    continue;
+                }
+                inTable = true;
+                if (n == a.length) {
+                    a = Arrays.copyOf(a, n * 2);
+                    l = Arrays.copyOf(l, n * 2);
+                    d = Arrays.copyOf(d, n * 2);
+                    m = Arrays.copyOf(m, n * 2);
+                }
+                a[n] = row[0];
+                l[n] = row[1];
+                d[n] = row[2];
+                // XFOIL columns: alpha CL CD CDp CM ...
+                int cmColumn = xfoilColumns ? 4 : 3;
+                m[n] = row.length > cmColumn ? row[cmColumn] : 0.0;
+                n++;
+            }
+        }
+        if (Double.isNaN(reynolds) || !(reynolds > 0)) {
+            throw new IOException("No Reynolds number found in polar header");
+        }
+        if (n == 0) {
+            throw new IOException("No polar data rows found");
+        }
+        return new AirfoilPolar(reynolds, Arrays.copyOf(a, n), Arrays.copyOf(l, n), Arrays.copyOf(d, n), Arrays.copyOf(m, n));
+    }
+
+    // All-numeric row with at least alpha, CL, CD; null otherwise
+    private static double[] parseRow(String trimmed) {
+        double[] values = new double[MAX_COLUMNS];
+        int count = NumericLine.parse(trimmed, values);
+        return count < 3 ? null : Arrays.copyOf(values, count);
+    }
+}
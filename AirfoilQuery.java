@@ -0,0 +1,418 @@
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Filter, sort and page over an {@link AirfoilCatalog} snapshot.
+ *
+ * Candidates come from the most selective index available instead of a
+ * scan: a binary-searched slice of the thickness, max Cl or min Cd sort
+ * index for a range filter, the application-type index for a type filter,
+ * the Reynolds interval index for a coverage filter, otherwise the
+ * sort-order index of the requested sort key (which also makes the result
+ * come out already sorted, without copying it). Remaining predicates are
+ * checked against the primitive columns. Range bounds are inclusive and
+ * never match an unknown (NaN) value.
+ *
+ * Pages can be fetched by offset or, more robustly, with the keyset
+ * {@link Cursor} of the previous page, which stays valid when airfoils are
+ * added between requests.
+ */
+public final class AirfoilQuery {
+    public static final int DEFAULT_LIMIT = 50;
+
+    // Another index is preferred over the Reynolds index once it keeps at most 1/4 of the catalog
+    private static final int SELECTIVE_FRACTION = 4;
+
+    public enum Sort { NAME, MAX_CL, MIN_CD, LIFT_TO_DRAG, THICKNESS, REYNOLDS_MIN, REYNOLDS_MAX }
+
+    private String applicationType;
+    private double thicknessMin = Double.NEGATIVE_INFINITY, thicknessMax = Double.POSITIVE_INFINITY;
+    private double maxClMin = Double.NEGATIVE_INFINITY, maxClMax = Double.POSITIVE_INFINITY;
+    private double minCdMin = Double.NEGATIVE_INFINITY, minCdMax = Double.POSITIVE_INFINITY;
+    private double reynolds = Double.NaN;
+    private Sort sort = Sort.NAME;
+    private boolean descending;
+    private int limit = DEFAULT_LIMIT;
+    private int offset;
+    private Cursor after;
+
+    public static AirfoilQuery all() {
+        return new AirfoilQuery();
+    }
+
+    // ----- Predicates (bounds are inclusive) -----
+    /** Exact application type, ignoring case; null matches any. */
+    public AirfoilQuery applicationType(String type) {
+        this.applicationType = (type == null || type.trim().isEmpty()) ? null : type.trim();
+        return this;
+    }
+
+    public AirfoilQuery thickness(double min, double max) {
+        requireBounds("Thickness", min, max);
+        thicknessMin = min;
+        thicknessMax = max;
+        return this;
+    }
+
+    public AirfoilQuery maxCl(double min, double max) {
+        requireBounds("Max Cl", min, max);
+        maxClMin = min;
+        maxClMax = max;
+        return this;
+    }
+
+    public AirfoilQuery minCd(double min, double max) {
+        requireBounds("Min Cd", min, max);
+        minCdMin = min;
+        minCdMax = max;
+        return this;
+    }
+
+    // Use infinities for an open side; NaN would otherwise count as a filter that matches nothing
+    private static void requireBounds(String name, double min, double max) {
+        if (Double.isNaN(min) || Double.isNaN(max)) {
+            throw new IllegalArgumentException(name + " bounds cannot be NaN");
+        }
+    }
+
+    /** Only airfoils whose rated Reynolds range contains {@code re}. */
+    public AirfoilQuery coversReynolds(double re) {
+        if (!(re > 0)) {
+            throw new IllegalArgumentException("Reynolds number must be positive");
+        }
+        reynolds = re;
+        return this;
+    }
+
+    // ----- Ordering and paging -----
+    public AirfoilQuery sortBy(Sort sort, boolean descending) {
+        if (sort == null) {
+            throw new IllegalArgumentException("Sort cannot be null");
+        }
+        this.sort = sort;
+        this.descending = descending;
+        return this;
+    }
+
+    public AirfoilQuery limit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    public AirfoilQuery offset(int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    /** Continue after the last row of a previous page (offset is then applied from there). */
+    public AirfoilQuery after(Cursor cursor) {
+        this.after = cursor;
+        return this;
+    }
+
+    // ----- Execution -----
+    public AirfoilPage execute(AirfoilCatalog catalog) {
+        int n = catalog.size();
+        SortIndex index = catalog.sortIndex(sort);
+        double[] thk = catalog.thicknessColumn();
+        double[] cl = catalog.maxClColumn();
+        double[] cd = catalog.minCdColumn();
+        double[] reMin = catalog.reynoldsMinColumn();
+        double[] reMax = catalog.reynoldsMaxColumn();
+        String[] types = catalog.applicationTypeColumn();
+        boolean byThickness = isRange(thicknessMin, thicknessMax);
+        boolean byMaxCl = isRange(maxClMin, maxClMax);
+        boolean byMinCd = isRange(minCdMin, minCdMax);
+        boolean byReynolds = !Double.isNaN(reynolds);
+
+        // 1. Candidates rows[from, from + count) from the narrowest index: a binary-searched
+        //    slice of a column's sort index, the application-type rows or the Reynolds
+        //    interval index. Without a filter it is the requested sort order itself.
+        int[] rows = index.order;
+        int from = 0;
+        int count = n;
+        Sort slicedBy = sort; // sort index the rows are a slice of, or null
+        boolean shared = true; // rows belong to the snapshot and must not be modified
+        Sort[] rangeKeys = { Sort.THICKNESS, Sort.MAX_CL, Sort.MIN_CD };
+        double[][] rangeColumns = { thk, cl, cd };
+        double[] mins = { thicknessMin, maxClMin, minCdMin };
+        double[] maxs = { thicknessMax, maxClMax, minCdMax };
+        for (int k = 0; k < rangeKeys.length; k++) {
+            if (!isRange(mins[k], maxs[k])) {
+                continue;
+            }
+            SortIndex column = catalog.sortIndex(rangeKeys[k]);
+            int lo = column.lowerBound(rangeColumns[k], mins[k]);
+            int hi = Math.max(lo, column.upperBound(rangeColumns[k], maxs[k]));
+            if (hi - lo < count) {
+                rows = column.order;
+                from = lo;
+                count = hi - lo;
+                slicedBy = rangeKeys[k];
+            }
+        }
+        boolean fromType = false;
+        if (applicationType != null) {
+            int[] typeRows = catalog.applicationTypeRows(applicationType);
+            if (typeRows.length < count) {
+                rows = typeRows;
+                from = 0;
+                count = typeRows.length;
+                slicedBy = null;
+                fromType = true;
+            }
+        }
+        // A stabbing query costs about as much as scanning its matches, so it only
+        // loses to another index that already narrowed the catalog well down
+        boolean fromReynolds = false;
+        if (byReynolds && count > n / SELECTIVE_FRACTION) {
+            rows = new int[n];
+            from = 0;
+            count = catalog.reynoldsIndex().query(reynolds, 0.0, rows);
+            slicedBy = null;
+            fromType = false;
+            fromReynolds = true;
+            shared = false;
+        }
+
+        // 2. Remaining predicates on the columns, into a private array
+        boolean checkThickness = byThickness && slicedBy != Sort.THICKNESS;
+        boolean checkMaxCl = byMaxCl && slicedBy != Sort.MAX_CL;
+        boolean checkMinCd = byMinCd && slicedBy != Sort.MIN_CD;
+        boolean checkType = applicationType != null && !fromType;
+        boolean checkReynolds = byReynolds && !fromReynolds;
+        if (checkThickness || checkMaxCl || checkMinCd || checkType || checkReynolds) {
+            String type = (applicationType == null) ? null : applicationType.toLowerCase(Locale.ROOT);
+            int[] kept = shared ? new int[count] : rows;
+            int size = 0;
+            for (int c = from; c < from + count; c++) {
+                int i = rows[c];
+                if ((checkThickness && !(thk[i] >= thicknessMin && thk[i] <= thicknessMax))
+                    || (checkMaxCl && !(cl[i] >= maxClMin && cl[i] <= maxClMax))
+                    || (checkMinCd && !(cd[i] >= minCdMin && cd[i] <= minCdMax))
+                    || (checkReynolds && !(reMin[i] <= reynolds && reynolds <= reMax[i]))) {
+                    continue;
+                }
+                if (checkType && (types[i] == null || !types[i].toLowerCase(Locale.ROOT).equals(type))) {
+                    continue;
+                }
+                kept[size++] = i;
+            }
+            rows = kept;
+            from = 0;
+            count = size;
+            shared = false;
+        }
+
+        // 3. Sort by position in the sort index (primitive sort of ranks)
+        if (slicedBy != sort) {
+            if (shared) {
+                rows = Arrays.copyOfRange(rows, from, from + count);
+                from = 0;
+            }
+            for (int c = from; c < from + count; c++) {
+                rows[c] = index.rank[rows[c]];
+            }
+            Arrays.sort(rows, from, from + count);
+            for (int c = from; c < from + count; c++) {
+                rows[c] = index.order[rows[c]];
+            }
+        }
+
+        // 4. Page: keyset first, then offset
+        int start = 0;
+        if (after != null) {
+            start = firstAfter(catalog, rows, from, count, after);
+        }
+        start = (int) Math.min((long) start + offset, count);
+        int end = (int) Math.min((long) start + limit, count);
+
+        List<Airfoil> page = new ArrayList<>(end - start);
+        for (int p = start; p < end; p++) {
+            page.add(catalog.get(rows[from + position(p, count)]));
+        }
+        Cursor next = null;
+        if (end < count) {
+            int last = rows[from + position(end - 1, count)];
+            next = new Cursor(sortValue(catalog, sort, last), catalog.nameAt(last));
+        }
+        return new AirfoilPage(page, count, next, catalog.getVersion());
+    }
+
+    // Both bounds infinite means no filter; otherwise unknown (NaN) values never match
+    private static boolean isRange(double min, double max) {
+        return min != Double.NEGATIVE_INFINITY || max != Double.POSITIVE_INFINITY;
+    }
+
+    // Descending pages walk the ascending candidate list from the back
+    private int position(int p, int count) {
+        return descending ? count - 1 - p : p;
+    }
+
+    // Number of rows (in page order) at or before the cursor
+    private int firstAfter(AirfoilCatalog catalog, int[] rows, int from, int count, Cursor cursor) {
+        int lo = 0, hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int i = rows[from + position(mid, count)];
+            int cmp = compareKey(sortValue(catalog, sort, i), catalog.nameAt(i), cursor.value, cursor.name);
+            boolean afterCursor = descending ? cmp < 0 : cmp > 0;
+            if (afterCursor) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    static double sortValue(AirfoilCatalog catalog, Sort sort, int i) {
+        switch (sort) {
+            case MAX_CL: return catalog.maxClColumn()[i];
+            case MIN_CD: return catalog.minCdColumn()[i];
+            case LIFT_TO_DRAG: return catalog.maxClColumn()[i] / catalog.minCdColumn()[i];
+            case THICKNESS: return catalog.thicknessColumn()[i];
+            case REYNOLDS_MIN: return catalog.reynoldsMinColumn()[i];
+            case REYNOLDS_MAX: return catalog.reynoldsMaxColumn()[i];
+            default: return 0.0; // NAME: order by name alone
+        }
+    }
+
+    // Sort key: value, then name ignoring case
+    private static int compareKey(double value, String name, double otherValue, String otherName) {
+        int cmp = Double.compare(value, otherValue);
+        if (cmp != 0) {
+            return cmp;
+        }
+        return String.CASE_INSENSITIVE_ORDER.compare(name == null ? "" : name, otherName == null ? "" : otherName);
+    }
+
+    /**
+     * Catalog positions in ascending sort order ({@code order}) and the
+     * inverse mapping ({@code rank}). Built once per snapshot and sort key
+     * by sorting packed {@code (key rank, tie rank)} longs; ties on the value
+     * follow the name index, so only that one sorts strings.
+     */
+    static final class SortIndex {
+        final int[] order;
+        final int[] rank;
+
+        SortIndex(AirfoilCatalog catalog, Sort sort) {
+            int n = catalog.size();
+            long[] keys = new long[n];
+            int[] tieOrder;
+            if (sort == Sort.NAME) {
+                String[] names = new String[n];
+                for (int i = 0; i < n; i++) {
+                    String name = catalog.nameAt(i);
+                    names[i] = name == null ? "" : name;
+                }
+                String[] sorted = names.clone();
+                Arrays.sort(sorted, String.CASE_INSENSITIVE_ORDER);
+                for (int i = 0; i < n; i++) {
+                    keys[i] = (long) firstNotBelow(sorted, names[i]) * n + i;
+                }
+                tieOrder = null;
+            } else {
+                SortIndex byName = catalog.sortIndex(Sort.NAME);
+                double[] values = new double[n];
+                for (int i = 0; i < n; i++) {
+                    values[i] = sortValue(catalog, sort, i);
+                }
+                double[] sorted = values.clone();
+                Arrays.sort(sorted); // same total order as Double.compare
+                for (int i = 0; i < n; i++) {
+                    keys[i] = (long) firstNotBelow(sorted, values[i]) * n + byName.rank[i];
+                }
+                tieOrder = byName.order;
+            }
+            Arrays.sort(keys);
+            order = new int[n];
+            rank = new int[n];
+            for (int r = 0; r < n; r++) {
+                int tie = (int) (keys[r] % n);
+                int i = tieOrder == null ? tie : tieOrder[tie];
+                order[r] = i;
+                rank[i] = r;
+            }
+        }
+
+        /** First position in {@code order} whose value in {@code column} is at least {@code v} (NaN sorts last). */
+        int lowerBound(double[] column, double v) {
+            int lo = 0, hi = order.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (column[order[mid]] < v) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+
+        /** First position in {@code order} whose value in {@code column} is above {@code v} or NaN. */
+        int upperBound(double[] column, double v) {
+            int lo = 0, hi = order.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (column[order[mid]] <= v) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+
+        // First position in sorted with a value not below v; equal values share it
+        private static int firstNotBelow(double[] sorted, double v) {
+            int lo = 0, hi = sorted.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (Double.compare(sorted[mid], v) < 0) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+
+        private static int firstNotBelow(String[] sorted, String v) {
+            int lo = 0, hi = sorted.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (String.CASE_INSENSITIVE_ORDER.compare(sorted[mid], v) < 0) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * Position after the last row of a page: its sort value and name. The
+     * token form can be handed to clients and parsed back.
+     */
+    public static final class Cursor {
+        private final double value;
+        private final String name;
+
+        public Cursor(double value, String name) {
+            this.value = value;
+            this.name = name == null ? "" : name;
+        }
+
+        public String toToken() {
+            String raw = Double.doubleToLongBits(value) + ":" + name;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor fromToken(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int colon = raw.indexOf(':');
+                return new Cursor(Double.longBitsToDouble(Long.parseLong(raw.substring(0, colon))), raw.substring(colon + 1));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+}
@@ -1,50 +1,672 @@
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
 
 public class AirfoilService {
+    private static final Logger LOGGER = Logger.getLogger(AirfoilService.class.getName());
+
     private DatabaseService dbService;
 
+    // Resident catalog snapshot; null until first use, swapped atomically on change.
+    // Readers never lock, writers serialize on the reference itself.
+    private final AtomicReference<AirfoilCatalog> catalog = new AtomicReference<>();
+
+    // Relative slack applied to an airfoil's Reynolds range when picking candidates
+    private volatile double reynoldsTolerance = 0.25;
+
+    private volatile ScoringModel scoringModel = new WeightedScoringModel();
+
+    // ----- Recommendation cache -----
+    // Near-identical flights share an entry: Re in 1% log steps, required Cl in
+    // 0.01 steps, altitude in 250 m bands. Keys carry the catalog version, so a
+    // result computed against an old snapshot can never be served for a new one.
+    // Only the ranking is cached; reasons quote the query's own Cl and Re, so
+    // they are written per call.
+    private static final double RE_BUCKET_LOG = Math.log(1.01);
+    private static final double CL_BUCKET = 0.01;
+    private static final double ALTITUDE_BAND_M = 250.0;
+    private static final int MAX_CACHED_K = 100; // full-catalog rankings are not worth keeping
+
+    private final BoundedCache<RecommendationKey, Ranking> recommendationCache =
+        new BoundedCache<>(Integer.getInteger("airfoil.recommendCache.size", 4096), 0);
+
+    // Scored recommendations and cache hits are timed separately so hits do not hide scoring cost
+    private static final Metrics.Timer RECOMMEND_TIMER = Metrics.timer("recommend");
+    private static final Metrics.Timer RECOMMEND_CACHED_TIMER = Metrics.timer("recommend.cached");
+
+    // ----- Polars -----
+    // Loaded per airfoil on first use (PolarTable.EMPTY when it has none) and
+    // dropped whenever the catalog is reloaded. Candidates are re-scored with
+    // their polars best catalog score first; REFINE_EXTRA is how far past the
+    // k-th the first shortlist reaches, and it doubles until the order is final.
+    // Rankings past MAX_CACHED_K would refine (and read polars for) nearly every
+    // candidate, so they use catalog scores alone and NO_POLARS.
+    private static final int REFINE_EXTRA = 64;
+    private static final Function<String, PolarTable> NO_POLARS = name -> PolarTable.EMPTY;
+    private final BoundedCache<String, PolarTable> polarCache =
+        new BoundedCache<>(Integer.getInteger("airfoil.polarCache.size", 10_000), 0);
+
+    // ----- Pareto fronts -----
+    // Recently used fronts by objectives and Reynolds filter, moved forward
+    // incrementally by addAirfoil. Guarded by the map itself.
+    private static final int MAX_PARETO_FRONTS = 32;
+    private final Map<String, ParetoFront> paretoFronts = new LinkedHashMap<>(16, 0.75f, true);
+
+    // ----- Catalog file -----
+    // Binary copy of the airfoil table next to the database (see CatalogFile),
+    // mapped on start-up instead of reading the table. Rewritten in the background after
+    // changes; requests arriving while a rewrite runs are folded into one more.
+    private static final boolean CATALOG_FILE_ENABLED =
+        Boolean.parseBoolean(System.getProperty("airfoil.catalogFile", "true"));
+    private static final Metrics.Timer CATALOG_LOAD_TIMER = Metrics.timer("catalog.load");
+    private static final Metrics.Counter CATALOG_FILE_HITS = Metrics.counter("catalog.file.hit");
+    private final AtomicReference<PendingCatalogFile> pendingCatalogFile = new AtomicReference<>();
+    private final AtomicBoolean catalogFileDirty = new AtomicBoolean();
+    private final AtomicBoolean catalogFileWriting = new AtomicBoolean();
+
     public AirfoilService() {
-        dbService = new DatabaseService();
+        this(DatabaseService.getShared());
+    }
+
+    public AirfoilService(DatabaseService dbService) {
+        this.dbService = dbService;
+        Metrics.gauge("recommend.cache.size", recommendationCache::size);
+        Metrics.gauge("recommend.cache.hitRate", recommendationCache::getHitRate);
+        Metrics.gauge("polar.cache.hitRate", polarCache::getHitRate);
+        Metrics.gauge("catalog.size", () -> {
+            AirfoilCatalog current = catalog.get();
+            return current == null ? 0 : current.size();
+        });
     }
 
     public boolean addAirfoil(Airfoil airfoil) {
-        String nameKey = airfoil.getName().toLowerCase();
+        return addAirfoil(airfoil, List.of());
+    }
 
+    /**
+     * Add an airfoil together with its polars (e.g. from {@link PanelSolver}),
+     * written in one transaction. Returns false if the name is taken. If
+     * only the polars fail to store, the airfoil is still added.
+     */
+    public boolean addAirfoil(Airfoil airfoil, List<AirfoilPolar> polars) {
         // Duplicate check
         if (airfoilExists(airfoil.getName())) {
             return false;
         }
 
         // Add to database
-        return dbService.addAirfoil(
-            airfoil.getName(),
-            airfoil.getThickness(),
-            airfoil.getMinCd(),
-            airfoil.getReynoldsMin(),
-            airfoil.getReynoldsMax(),
-            airfoil.getApplicationType(),
-            airfoil.getMaxCl()
-        );
+        boolean added;
+        if (polars.isEmpty()) {
+            added = dbService.addAirfoil(
+                airfoil.getName(),
+                airfoil.getMaxCl(),
+                airfoil.getMinCd(),
+                airfoil.getReynoldsMin(),
+                airfoil.getReynoldsMax(),
+                airfoil.getApplicationType(),
+                airfoil.getThickness()
+            );
+        } else {
+            added = dbService.upsertAirfoils(List.of(airfoil), Map.of(airfoil.getName(), polars)) == 1;
+            polarCache.invalidate(airfoil.getName());
+        }
+
+        // Publish a new snapshot only once the row is committed
+        if (added) {
+            synchronized (catalog) {
+                AirfoilCatalog current = catalog.get();
+                if (current != null) {
+                    AirfoilCatalog next = current.withAirfoil(airfoil);
+                    catalog.set(next);
+                    advanceParetoFronts(airfoil, current.getVersion(), next.getVersion());
+                }
+            }
+            recommendationCache.invalidateAll();
+            scheduleCatalogFileWrite();
+        }
+        return added;
+    }
+
+    /**
+     * Bulk-import coordinate and polar files from a directory, then reload the catalog.
+     */
+    public AirfoilImporter.Summary importAirfoils(Path directory, String applicationType,
+                                                  AirfoilImporter.Listener listener) throws IOException {
+        return importAirfoils(directory, applicationType, false, listener);
+    }
+
+    /**
+     * As {@link #importAirfoils(Path, String, AirfoilImporter.Listener)}, optionally
+     * computing polars with {@link PanelSolver} for sections that have no polar files.
+     */
+    public AirfoilImporter.Summary importAirfoils(Path directory, String applicationType, boolean computeMissingPolars,
+                                                  AirfoilImporter.Listener listener) throws IOException {
+        AirfoilImporter importer = new AirfoilImporter(dbService, applicationType,
+            AirfoilImporter.DEFAULT_BATCH_SIZE, computeMissingPolars);
+        try {
+            return importer.importDirectory(directory, listener);
+        } finally {
+            // Upserts may also have changed existing rows, so rebuild rather than append;
+            // the reload itself rewrites the catalog file
+            refreshCatalog();
+        }
     }
 
     public List<Airfoil> getAllAirfoils() {
-        return dbService.getAllAirfoils();
+        return getCatalog().asList();
+    }
+
+    /**
+     * Filtered, sorted page of the current catalog; see {@link AirfoilQuery}.
+     */
+    public AirfoilPage queryAirfoils(AirfoilQuery query) {
+        return query.execute(getCatalog());
     }
 
     public boolean airfoilExists(String name) {
         return dbService.airfoilExists(name);
     }
 
+    /**
+     * Current catalog snapshot, loaded from the database on first use.
+     */
+    public AirfoilCatalog getCatalog() {
+        AirfoilCatalog current = catalog.get();
+        if (current != null) {
+            return current;
+        }
+        synchronized (catalog) {
+            current = catalog.get();
+            if (current == null) {
+                current = loadCatalog(1L);
+                catalog.set(current);
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Reload the catalog from the database (e.g. after another process changed it).
+     */
+    public AirfoilCatalog refreshCatalog() {
+        synchronized (catalog) {
+            AirfoilCatalog previous = catalog.get();
+            long version = (previous == null) ? 1L : previous.getVersion() + 1;
+            AirfoilCatalog fresh = loadCatalog(version);
+            catalog.set(fresh);
+            polarCache.invalidateAll();
+            recommendationCache.invalidateAll();
+            synchronized (paretoFronts) {
+                paretoFronts.clear();
+            }
+            return fresh;
+        }
+    }
+
+    // Map the catalog file if it matches the airfoils table, otherwise query and rewrite it
+    private AirfoilCatalog loadCatalog(long version) {
+        long start = System.nanoTime();
+        try {
+            Path database = CATALOG_FILE_ENABLED ? dbService.getDatabaseFile() : null;
+            if (database == null) {
+                return AirfoilCatalog.of(version, dbService.getAllAirfoils());
+            }
+            // Untouched database files: no need to open the database at all
+            Path file = CatalogFile.pathFor(database);
+            CatalogFile.Stamp stamp = CatalogFile.Stamp.of(database);
+            AirfoilCatalog mapped = CatalogFile.read(file, stamp, version);
+            if (mapped == null) {
+                // Other tables may have been written; only the airfoils version counts
+                DatabaseService.CatalogVersion catalogVersion = dbService.getCatalogVersion();
+                if (catalogVersion != null) {
+                    mapped = CatalogFile.read(file, stamp.withVersion(catalogVersion), version);
+                }
+            }
+            if (mapped != null) {
+                CATALOG_FILE_HITS.increment();
+                return mapped;
+            }
+            DatabaseService.AirfoilTable table = dbService.readAirfoilTable();
+            AirfoilCatalog loaded = AirfoilCatalog.of(version, table.airfoils);
+            if (table.complete) {
+                // File times taken before the read, so a concurrent change leaves the file stale, never wrong
+                pendingCatalogFile.set(new PendingCatalogFile(stamp.withVersion(table.version), loaded));
+                startCatalogFileWriter();
+            }
+            return loaded;
+        } finally {
+            CATALOG_LOAD_TIMER.recordSince(start);
+        }
+    }
+
+    private static final class PendingCatalogFile {
+        final CatalogFile.Stamp stamp;
+        final AirfoilCatalog catalog;
+
+        PendingCatalogFile(CatalogFile.Stamp stamp, AirfoilCatalog catalog) {
+            this.stamp = stamp;
+            this.catalog = catalog;
+        }
+    }
+
+    /**
+     * Rewrite the catalog file from the database on a background thread.
+     * Calls made while a rewrite is running cause exactly one more afterwards.
+     */
+    private void scheduleCatalogFileWrite() {
+        if (CATALOG_FILE_ENABLED && dbService.getDatabaseFile() != null) {
+            catalogFileDirty.set(true);
+            startCatalogFileWriter();
+        }
+    }
+
+    private void startCatalogFileWriter() {
+        if (catalogFileWriting.compareAndSet(false, true)) {
+            Thread writer = new Thread(this::writeCatalogFiles, "catalog-file-writer");
+            writer.setDaemon(true);
+            writer.start();
+        } // else the running writer picks the request up
+    }
+
+    private void writeCatalogFiles() {
+        do {
+            while (true) {
+                PendingCatalogFile pending = pendingCatalogFile.getAndSet(null);
+                if (pending == null && catalogFileDirty.getAndSet(false)) {
+                    pending = readCatalogForFile();
+                }
+                if (pending == null) {
+                    break;
+                }
+                Path database = dbService.getDatabaseFile();
+                try {
+                    CatalogFile.write(CatalogFile.pathFor(database), pending.catalog, pending.stamp);
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Could not write the catalog file for " + database, e);
+                }
+            }
+            catalogFileWriting.set(false);
+            // A request may have arrived after the loop ended but before the reset
+        } while ((catalogFileDirty.get() || pendingCatalogFile.get() != null)
+            && catalogFileWriting.compareAndSet(false, true));
+    }
+
+    // The table itself rather than the in-memory snapshot, so the file only claims what was committed
+    private PendingCatalogFile readCatalogForFile() {
+        CatalogFile.Stamp stamp = CatalogFile.Stamp.of(dbService.getDatabaseFile());
+        DatabaseService.AirfoilTable table = dbService.readAirfoilTable();
+        return table.complete
+            ? new PendingCatalogFile(stamp.withVersion(table.version), AirfoilCatalog.of(0L, table.airfoils))
+            : null;
+    }
+
+    /**
+     * Full polars of the named airfoil, read from the database on first use.
+     * Returns {@link PolarTable#EMPTY} if it has none.
+     */
+    public PolarTable getPolars(String airfoilName) {
+        PolarTable polars = polarCache.get(airfoilName);
+        if (polars == null) {
+            polars = PolarTable.of(dbService.getPolars(airfoilName));
+            polarCache.put(airfoilName, polars);
+        }
+        return polars;
+    }
+
+    public double getReynoldsTolerance() {
+        return reynoldsTolerance;
+    }
+
+    /**
+     * Set how far outside its rated Reynolds range (relative, 0.25 = 25%) an
+     * airfoil may be and still be considered for a recommendation.
+     */
+    public void setReynoldsTolerance(double tolerance) {
+        if (tolerance < 0 || Double.isNaN(tolerance)) {
+            throw new IllegalArgumentException("Reynolds tolerance must be >= 0");
+        }
+        this.reynoldsTolerance = tolerance;
+        recommendationCache.invalidateAll();
+    }
+
+    public ScoringModel getScoringModel() {
+        return scoringModel;
+    }
+
+    public void setScoringModel(ScoringModel model) {
+        if (model == null) {
+            throw new IllegalArgumentException("Scoring model cannot be null");
+        }
+        this.scoringModel = model;
+        recommendationCache.invalidateAll();
+    }
+
+    /**
+     * Hit ratio, size and eviction counts of the recommendation cache.
+     */
+    public BoundedCache<?, ?> getRecommendationCache() {
+        return recommendationCache;
+    }
+
+    /**
+     * Airfoils not dominated on the given objectives, optionally only among
+     * those rated for {@code reynolds} (NaN for the whole catalog).
+     */
+    public ParetoFront paretoFront(ParetoFront.Objectives objectives, double reynolds) {
+        AirfoilCatalog snapshot = getCatalog();
+        String key = objectives + "@" + reynolds;
+        synchronized (paretoFronts) {
+            ParetoFront front = paretoFronts.get(key);
+            if (front != null && front.getCatalogVersion() == snapshot.getVersion()) {
+                return front;
+            }
+        }
+        ParetoFront front = ParetoFront.compute(snapshot, objectives, reynolds);
+        synchronized (paretoFronts) {
+            ParetoFront existing = paretoFronts.get(key);
+            if (existing == null || existing.getCatalogVersion() < front.getCatalogVersion()) {
+                paretoFronts.put(key, front);
+                if (paretoFronts.size() > MAX_PARETO_FRONTS) {
+                    Iterator<String> eldest = paretoFronts.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+        }
+        return front;
+    }
+
+    // Called with the catalog lock held, right after a single airfoil was appended
+    private void advanceParetoFronts(Airfoil added, long previousVersion, long newVersion) {
+        synchronized (paretoFronts) {
+            Iterator<Map.Entry<String, ParetoFront>> it = paretoFronts.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, ParetoFront> entry = it.next();
+                if (entry.getValue().getCatalogVersion() == previousVersion) {
+                    entry.setValue(entry.getValue().withAirfoil(added, newVersion));
+                } else {
+                    it.remove(); // computed against an older snapshot
+                }
+            }
+        }
+    }
+
+    /**
+     * Every candidate airfoil for the given flight, best first, ranked on the
+     * catalog values alone: refining a full ranking would read the polars of
+     * the whole catalog.
+     */
     public List<RecommendationResult> recommendAirfoils(FlightParameters params) {
-        List<RecommendationResult> results = new ArrayList<>();
+        return recommendTopK(params, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Return the {@code k} best airfoils for the given flight, best first.
+     *
+     * Scores are kept in a bounded primitive heap, so the cost is O(n log k)
+     * and only the k winners are materialized as {@link RecommendationResult}s.
+     * Results for k up to 100 are refined with the airfoils' polars, cached
+     * per quantized flight condition and returned as unmodifiable lists; a
+     * larger k is ranked like {@link #recommendAirfoils}.
+     */
+    public List<RecommendationResult> recommendTopK(FlightParameters params, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        return cachedRecommend(getCatalog(), scoringModel, reynoldsTolerance, params, k);
+    }
+
+    /**
+     * Evaluate many flight conditions in parallel, returning the top {@code k}
+     * airfoils for each query in input order.
+     */
+    public List<List<RecommendationResult>> recommendBatch(List<FlightParameters> queries, int k) {
+        List<List<RecommendationResult>> results = new ArrayList<>(queries.size());
+        recommendBatch(queries, k, results::add);
+        return results;
+    }
+
+    /**
+     * Evaluate many flight conditions in parallel on the fork-join pool and
+     * hand each query's top {@code k} to {@code sink} in input order, as soon
+     * as it and all earlier queries are done.
+     *
+     * Every query sees the same catalog snapshot, scoring model and
+     * tolerance, even if the catalog changes while the batch is running.
+     */
+    public void recommendBatch(List<FlightParameters> queries, int k, Consumer<List<RecommendationResult>> sink) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        AirfoilCatalog snapshot = getCatalog();
+        ScoringModel model = scoringModel;
+        double tolerance = reynoldsTolerance;
+        // Random access keeps the parallel split cheap for linked or lazy lists
+        List<FlightParameters> indexed = (queries instanceof RandomAccess) ? queries : new ArrayList<>(queries);
+        IntStream.range(0, indexed.size())
+            .parallel()
+            .mapToObj(q -> cachedRecommend(snapshot, model, tolerance, indexed.get(q), k))
+            .forEachOrdered(sink);
+    }
+
+    private List<RecommendationResult> cachedRecommend(AirfoilCatalog snapshot, ScoringModel model, double tolerance,
+                                                       FlightParameters params, int k) {
+        long start = System.nanoTime();
+        if (k > MAX_CACHED_K) {
+            List<RecommendationResult> results =
+                describe(snapshot, model, rank(snapshot, model, tolerance, params, k, NO_POLARS), params, NO_POLARS);
+            RECOMMEND_TIMER.recordSince(start);
+            return results;
+        }
+        RecommendationKey key = new RecommendationKey(snapshot.getVersion(), model, tolerance, params, k);
+        Ranking ranking = recommendationCache.get(key);
+        boolean hit = ranking != null;
+        if (!hit) {
+            ranking = rank(snapshot, model, tolerance, params, k, this::getPolars);
+            recommendationCache.put(key, ranking);
+        }
+        List<RecommendationResult> results =
+            Collections.unmodifiableList(describe(snapshot, model, ranking, params, this::getPolars));
+        (hit ? RECOMMEND_CACHED_TIMER : RECOMMEND_TIMER).recordSince(start);
+        return results;
+    }
+
+    // Catalog rows and scores of the winners, best first
+    private static final class Ranking {
+        final int[] indices;
+        final double[] scores;
+
+        Ranking(int[] indices, double[] scores) {
+            this.indices = indices;
+            this.scores = scores;
+        }
+    }
+
+    private static Ranking rank(AirfoilCatalog snapshot, ScoringModel model, double tolerance,
+                                FlightParameters params, int k, Function<String, PolarTable> polars) {
+        Workspace ws = acquireWorkspace();
+        try {
+            ws.ensureCapacity(snapshot.size());
+            double reynolds = params.calculateReynoldsNumber();
+            double requiredCl = params.calculateRequiredCl();
+
+            // Only airfoils rated for this Reynolds number are scored; if none are,
+            // fall back to the whole catalog rather than recommending nothing.
+            int[] candidates = ws.candidates;
+            int count = snapshot.reynoldsIndex().query(reynolds, tolerance, candidates);
+            if (count == 0) {
+                for (int i = 0; i < snapshot.size(); i++) {
+                    candidates[i] = i;
+                }
+                count = snapshot.size();
+            }
+
+            double[] scores = ws.scores;
+            model.scoreAll(snapshot, candidates, count, reynolds, requiredCl, scores);
+
+            // An unscorable (NaN) candidate can never be recommended, and the heaps drop it,
+            // so it must not count towards "every candidate has been shortlisted" below
+            int scored = 0;
+            for (int c = 0; c < count; c++) {
+                if (!Double.isNaN(scores[c])) {
+                    scores[scored] = scores[c];
+                    candidates[scored++] = candidates[c];
+                }
+            }
+            count = scored;
+
+            // Catalog scores are upper bounds of refined ones, so candidates are
+            // refined best catalog score first until the k-th refined score beats
+            // the next catalog score; nothing after that can enter the top k.
+            // The shortlist starts a little past k and doubles while that has not
+            // happened (refining again is cheap: the polars are cached).
+            int limit = Math.min(k, count);
+            TopKHeap heap = ws.heap;
+            TopKHeap refined = ws.refined;
+            int shortlistSize = (int) Math.min(count, (long) limit + REFINE_EXTRA);
+            while (true) {
+                heap.reset(shortlistSize);
+                for (int c = 0; c < count; c++) {
+                    heap.offer(scores[c], candidates[c]);
+                }
+                int shortlisted = heap.drainDescending(ws.topScores, ws.topIndices);
+                refined.reset(limit);
+                boolean settled = false;
+                for (int w = 0; w < shortlisted && !settled; w++) {
+                    double score = ws.topScores[w];
+                    settled = refined.size() == limit && refined.weakestScore() >= score;
+                    if (!settled) {
+                        int i = ws.topIndices[w];
+                        PolarTable table = polars.apply(snapshot.nameAt(i));
+                        refined.offer(model.refine(snapshot, i, table, reynolds, requiredCl, score), i);
+                    }
+                }
+                // Everything left out of the shortlist scores at most its last entry; once the
+                // shortlist is the whole candidate list there is nothing left to refine
+                settled |= shortlistSize >= count || shortlisted == count
+                    || (refined.size() == limit && refined.weakestScore() >= ws.topScores[shortlisted - 1]);
+                if (settled) {
+                    break;
+                }
+                shortlistSize = (int) Math.min(count, 2L * shortlistSize);
+            }
 
-        for (Airfoil airfoil : dbService.getAllAirfoils()) {
-            double score = airfoil.getLiftToDragRatio();
-            String reason = "High L/D ratio";
-            results.add(new RecommendationResult(airfoil, score, reason));
+            int winners = refined.drainDescending(ws.topScores, ws.topIndices);
+            return new Ranking(Arrays.copyOf(ws.topIndices, winners), Arrays.copyOf(ws.topScores, winners));
+        } finally {
+            WORKSPACES.add(ws);
         }
+    }
 
-        results.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+    // Results with reasons for this query's own flight condition
+    private static List<RecommendationResult> describe(AirfoilCatalog snapshot, ScoringModel model, Ranking ranking,
+                                                       FlightParameters params, Function<String, PolarTable> polars) {
+        double reynolds = params.calculateReynoldsNumber();
+        double requiredCl = params.calculateRequiredCl();
+        List<RecommendationResult> results = new ArrayList<>(ranking.indices.length);
+        for (int w = 0; w < ranking.indices.length; w++) {
+            int i = ranking.indices[w];
+            String reason = model.explain(snapshot, i, reynolds, requiredCl);
+            PolarTable table = polars.apply(snapshot.nameAt(i)); // every winner was refined with it
+            if (!table.isEmpty()) {
+                double cd = table.cd(requiredCl, reynolds);
+                reason += Double.isNaN(cd)
+                    ? String.format(", stalls below Cl %.2f at this Re", requiredCl)
+                    : String.format(", Cd %.4f at Cl %.2f from polars", cd, requiredCl);
+            }
+            results.add(new RecommendationResult(snapshot.get(i), ranking.scores[w], reason));
+        }
         return results;
     }
+
+    private static final class RecommendationKey {
+        final long catalogVersion;
+        final ScoringModel model; // compared by identity
+        final double tolerance;
+        final long reynoldsBucket;
+        final long clBucket;
+        final long altitudeBand;
+        final int k;
+        final int hash;
+
+        RecommendationKey(long catalogVersion, ScoringModel model, double tolerance, FlightParameters params, int k) {
+            this.catalogVersion = catalogVersion;
+            this.model = model;
+            this.tolerance = tolerance;
+            this.reynoldsBucket = Math.round(Math.log(Math.max(params.calculateReynoldsNumber(), 1.0)) / RE_BUCKET_LOG);
+            this.clBucket = Math.round(params.calculateRequiredCl() / CL_BUCKET);
+            this.altitudeBand = (long) Math.floor(params.getAltitude() / ALTITUDE_BAND_M);
+            this.k = k;
+            this.hash = Objects.hash(catalogVersion, System.identityHashCode(model), tolerance,
+                reynoldsBucket, clBucket, altitudeBand, k);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RecommendationKey)) return false;
+            RecommendationKey other = (RecommendationKey) o;
+            return catalogVersion == other.catalogVersion && model == other.model
+                && Double.compare(tolerance, other.tolerance) == 0
+                && reynoldsBucket == other.reynoldsBucket && clBucket == other.clBucket
+                && altitudeBand == other.altitudeBand && k == other.k;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // Scratch buffers sized to the catalog, so a query allocates only its k
+    // results. API requests each run on a fresh virtual thread, so buffers are
+    // pooled rather than per thread: at most WORKSPACE_COUNT exist, and a query
+    // waits for a free one (scoring is CPU-bound, so more would not run faster).
+    private static final int WORKSPACE_COUNT = Integer.getInteger("airfoil.scoring.workspaces",
+        2 * Runtime.getRuntime().availableProcessors());
+    private static final BlockingQueue<Workspace> WORKSPACES = new ArrayBlockingQueue<>(WORKSPACE_COUNT);
+
+    static {
+        for (int w = 0; w < WORKSPACE_COUNT; w++) {
+            WORKSPACES.add(new Workspace());
+        }
+        Metrics.gauge("recommend.workspaces.idle", WORKSPACES::size);
+    }
+
+    private static Workspace acquireWorkspace() {
+        try {
+            return WORKSPACES.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a scoring workspace", e);
+        }
+    }
+
+    private static final class Workspace {
+        int[] candidates = new int[0];
+        double[] scores = new double[0];
+        double[] topScores = new double[0];
+        int[] topIndices = new int[0];
+        final TopKHeap heap = new TopKHeap(16);
+        final TopKHeap refined = new TopKHeap(16);
+
+        Workspace ensureCapacity(int n) {
+            if (candidates.length < n) {
+                candidates = new int[n];
+                scores = new double[n];
+                topScores = new double[n];
+                topIndices = new int[n];
+            }
+            return this;
+        }
+    }
 }
@@ -0,0 +1,90 @@
+import java.util.BitSet;
+import java.util.function.BooleanSupplier;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Table model over an {@link AirfoilCatalog} snapshot.
+ *
+ * Rows are not copied: cells are read from the snapshot when JTable paints
+ * them, so only the visible rows cost anything and a 100k-row catalog is
+ * swapped in with one {@code fireTableDataChanged}. The "Select" checkboxes
+ * live in a BitSet and are cleared when a new snapshot is shown.
+ * Must only be used on the Event Dispatch Thread.
+ */
+public class AirfoilTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+    private static final String[] COLUMNS = { "Select", "Airfoil" };
+
+    private final transient BooleanSupplier selectable;
+    private transient AirfoilCatalog catalog = AirfoilCatalog.empty();
+    private final BitSet selected = new BitSet();
+
+    /**
+     * @param selectable whether the checkboxes can currently be toggled
+     */
+    public AirfoilTableModel(BooleanSupplier selectable) {
+        this.selectable = selectable;
+    }
+
+    public void setCatalog(AirfoilCatalog catalog) {
+        this.catalog = (catalog == null) ? AirfoilCatalog.empty() : catalog;
+        selected.clear();
+        fireTableDataChanged();
+    }
+
+    public AirfoilCatalog getCatalog() {
+        return catalog;
+    }
+
+    public Airfoil getAirfoil(int row) {
+        return catalog.get(row);
+    }
+
+    /** Rows whose checkbox is ticked, in row order. */
+    public int[] getSelectedRows() {
+        return selected.stream().toArray();
+    }
+
+    @Override
+    public int getRowCount() {
+        return catalog.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 0 ? Boolean.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return column == 0 && selectable.getAsBoolean();
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (column == 0) {
+            return selected.get(row);
+        }
+        Airfoil a = catalog.get(row);
+        return String.format("%s  |  Type: %s  |  MaxCl: %.3f  |  MinCd: %.4f  |  Thk: %.1f%%",
+            a.getName(), a.getApplicationType(), a.getMaxCl(), a.getMinCd(), a.getThickness());
+    }
+
+    @Override
+    public void setValueAt(Object value, int row, int column) {
+        if (column == 0) {
+            selected.set(row, Boolean.TRUE.equals(value));
+            fireTableCellUpdated(row, column);
+        }
+    }
+}
@@ -0,0 +1,546 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Headless HTTP/JSON front end on the JDK's built-in server.
+ *
+ * Every request runs on its own virtual thread, so slow clients and
+ * database waits do not tie up platform threads; CPU-heavy password checks
+ * still go through the bounded login executor of {@link AuthenticationService}.
+ *
+ * Endpoints (JSON in, JSON out):
+ *   POST /api/login       {"username", "password"} -> {"token", "user"}
+ *   POST /api/logout      Authorization: Bearer token
+ *   GET  /api/airfoils    ?applicationType=&minThickness=&maxThickness=&minMaxCl=&maxMaxCl=
+ *                         &minMinCd=&maxMinCd=&reynolds=&sort=name|max_cl|...&order=asc|desc
+ *                         &limit=50 and either &offset=0 or &cursor=(nextCursor of the previous page)
+ *   POST /api/airfoils    airfoil fields, requires a token
+ *   GET  /api/recommend   ?speed=&altitude=&wingArea=&requiredLift=&k=5 (POST with a JSON body also works)
+ *   GET  /api/compare     ?names=NACA 2412,NACA 4412,... (2 to 1000) -> per-airfoil ranks, percent from best, Pareto set
+ *   GET  /api/pareto      ?objectives=lift_drag|lift_drag_thickness&reynolds= -> non-dominated airfoils
+ *   GET  /api/metrics     counters, gauges and latency timers as plain text (see {@link Metrics#dump()});
+ *                         requires a token unless the request comes from the loopback interface
+ *
+ * Start with: java -cp ".;sqlite-jdbc-3.42.0.0.jar" ApiServer [port]
+ */
+public class ApiServer {
+    private static final Logger LOGGER = Logger.getLogger(ApiServer.class.getName());
+
+    public static final int DEFAULT_PORT = 8080;
+    private static final int BACKLOG = 1024;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int MAX_SESSIONS = 100_000;
+    private static final long SESSION_TTL_MILLIS = 30 * 60 * 1000;
+    private static final long LOGIN_TIMEOUT_SECONDS = 30;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int DEFAULT_K = 5;
+    private static final int MAX_K = 100;
+    private static final int MAX_COMPARE = 1000;
+
+    private final AirfoilService airfoilService;
+    private final AuthenticationService authService;
+    private final SearchHistoryService historyService;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    // Bearer token -> user; a session expires SESSION_TTL_MILLIS after login
+    private final BoundedCache<String, User> sessions = new BoundedCache<>(MAX_SESSIONS, SESSION_TTL_MILLIS);
+    private final SecureRandom random = new SecureRandom();
+
+    private interface Endpoint {
+        Object handle(HttpExchange exchange) throws Exception;
+    }
+
+    // Mapped to an HTTP status and a {"error": ...} body
+    private static final class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    public ApiServer(AirfoilService airfoilService, AuthenticationService authService,
+                     SearchHistoryService historyService, InetSocketAddress address) throws IOException {
+        this.airfoilService = airfoilService;
+        this.authService = authService;
+        this.historyService = historyService;
+        this.server = HttpServer.create(address, BACKLOG);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+
+        route("/api/login", Map.of("POST", this::login));
+        route("/api/logout", Map.of("POST", this::logout));
+        route("/api/airfoils", Map.of("GET", this::listAirfoils, "POST", this::addAirfoil));
+        route("/api/recommend", Map.of("GET", this::recommend, "POST", this::recommend));
+        route("/api/compare", Map.of("GET", this::compare));
+        route("/api/pareto", Map.of("GET", this::pareto));
+        route("/api/metrics", Map.of("GET", this::metrics));
+    }
+
+    public void start() {
+        server.start();
+        LOGGER.info("HTTP API listening on port " + getPort());
+    }
+
+    /** Stop accepting requests, giving in-flight ones up to {@code delaySeconds} to finish. */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public static void main(String[] args) throws IOException {
+        AsyncLogHandler.install();
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger("airfoil.http.port", DEFAULT_PORT);
+        ApiServer api = new ApiServer(new AirfoilService(), new AuthenticationService(), new SearchHistoryService(),
+            new InetSocketAddress(port));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> api.stop(1), "api-shutdown"));
+        api.start();
+    }
+
+    // ----- Endpoints -----
+    private Object login(HttpExchange exchange) throws Exception {
+        Map<String, Object> body = readBody(exchange);
+        String username = requireString(body, "username");
+        String password = requireString(body, "password");
+        User user;
+        try {
+            user = authService.loginAsync(username, password).get(LOGIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                throw new ApiException(503, "Too many concurrent logins, try again");
+            }
+            throw e;
+        } catch (TimeoutException e) {
+            throw new ApiException(503, "Login timed out");
+        }
+        if (user == null) {
+            throw new ApiException(401, "Invalid username or password");
+        }
+
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        sessions.put(token, user);
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("token", token);
+        out.put("expiresInSeconds", SESSION_TTL_MILLIS / 1000);
+        out.put("user", userJson(user));
+        return out;
+    }
+
+    private Object logout(HttpExchange exchange) {
+        String token = bearerToken(exchange);
+        if (token != null) {
+            sessions.invalidate(token);
+        }
+        return Map.of("loggedOut", true);
+    }
+
+    private Object listAirfoils(HttpExchange exchange) {
+        Map<String, String> query = queryParams(exchange);
+        int offset = intParam(query, "offset", 0, 0, Integer.MAX_VALUE);
+        int limit = intParam(query, "limit", DEFAULT_PAGE_SIZE, 1, MAX_PAGE_SIZE);
+
+        AirfoilQuery.Sort sort = AirfoilQuery.Sort.NAME;
+        if (query.containsKey("sort")) {
+            try {
+                sort = AirfoilQuery.Sort.valueOf(query.get("sort").trim().toUpperCase(java.util.Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(400, "Unknown sort '" + query.get("sort") + "'");
+            }
+        }
+        AirfoilQuery q = AirfoilQuery.all()
+            .applicationType(query.get("applicationType"))
+            .thickness(optionalNumber(query, "minThickness", Double.NEGATIVE_INFINITY),
+                       optionalNumber(query, "maxThickness", Double.POSITIVE_INFINITY))
+            .maxCl(optionalNumber(query, "minMaxCl", Double.NEGATIVE_INFINITY),
+                   optionalNumber(query, "maxMaxCl", Double.POSITIVE_INFINITY))
+            .minCd(optionalNumber(query, "minMinCd", Double.NEGATIVE_INFINITY),
+                   optionalNumber(query, "maxMinCd", Double.POSITIVE_INFINITY))
+            .sortBy(sort, "desc".equalsIgnoreCase(query.get("order")))
+            .limit(limit)
+            .offset(offset);
+        if (query.containsKey("reynolds")) {
+            q.coversReynolds(positiveNumber(query, "reynolds"));
+        }
+        if (query.containsKey("cursor")) {
+            q.after(AirfoilQuery.Cursor.fromToken(query.get("cursor")));
+        }
+
+        AirfoilPage page = airfoilService.queryAirfoils(q);
+        List<Object> airfoils = new ArrayList<>(page.getAirfoils().size());
+        for (Airfoil a : page.getAirfoils()) {
+            airfoils.add(airfoilJson(a));
+        }
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("catalogVersion", page.getCatalogVersion());
+        out.put("total", page.getTotalMatches());
+        out.put("offset", offset);
+        out.put("limit", limit);
+        out.put("nextCursor", page.hasMore() ? page.getNextCursor().toToken() : null);
+        out.put("airfoils", airfoils);
+        return out;
+    }
+
+    private Object addAirfoil(HttpExchange exchange) throws IOException {
+        requireUser(exchange);
+        Map<String, Object> body = readBody(exchange);
+        String name = requireString(body, "name").trim();
+        if (name.isEmpty()) {
+            throw new ApiException(400, "name cannot be empty");
+        }
+        double reynoldsMin = positiveNumber(body, "reynoldsMin");
+        double reynoldsMax = positiveNumber(body, "reynoldsMax");
+        if (reynoldsMin > reynoldsMax) {
+            throw new ApiException(400, "reynoldsMin must not exceed reynoldsMax");
+        }
+        Object type = body.get("applicationType");
+        Airfoil airfoil = new Airfoil(name,
+            positiveNumber(body, "maxCl"),
+            positiveNumber(body, "minCd"),
+            reynoldsMin,
+            reynoldsMax,
+            type == null ? "General" : type.toString(),
+            requireNumber(body, "thickness"));
+
+        if (!airfoilService.addAirfoil(airfoil)) {
+            throw new ApiException(409, "Airfoil '" + name + "' already exists or could not be saved");
+        }
+        exchange.setAttribute("status", 201);
+        return airfoilJson(airfoil);
+    }
+
+    private Object recommend(HttpExchange exchange) throws IOException {
+        Map<String, Object> params = new HashMap<>(queryParams(exchange));
+        if ("POST".equals(exchange.getRequestMethod())) {
+            params.putAll(readBody(exchange));
+        }
+        FlightParameters flight = new FlightParameters(
+            positiveNumber(params, "speed"),
+            requireNumber(params, "altitude"),
+            positiveNumber(params, "wingArea"),
+            positiveNumber(params, "requiredLift"));
+        int k = params.containsKey("k") ? (int) requireNumber(params, "k") : DEFAULT_K;
+        if (k < 1 || k > MAX_K) {
+            throw new ApiException(400, "k must be between 1 and " + MAX_K);
+        }
+
+        List<RecommendationResult> results = airfoilService.recommendTopK(flight, k);
+
+        // Same as the desktop UI: searches by a logged-in user go to their history
+        User user = currentUser(exchange);
+        if (user != null && historyService != null) {
+            historyService.record(user, flight);
+        }
+
+        List<Object> ranked = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            RecommendationResult r = results.get(i);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("rank", i + 1);
+            item.put("score", r.getScore());
+            item.put("reason", r.getReason());
+            item.put("airfoil", airfoilJson(r.getAirfoil()));
+            ranked.add(item);
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("reynolds", flight.calculateReynoldsNumber());
+        out.put("requiredCl", flight.calculateRequiredCl());
+        out.put("mach", flight.calculateMachNumber());
+        out.put("results", ranked);
+        return out;
+    }
+
+    private Object compare(HttpExchange exchange) {
+        String names = queryParams(exchange).get("names");
+        if (names == null) {
+            throw new ApiException(400, "names is required (comma separated)");
+        }
+        String[] parts = names.split(",");
+        if (parts.length < 2 || parts.length > MAX_COMPARE) {
+            throw new ApiException(400, "Compare between 2 and " + MAX_COMPARE + " airfoils");
+        }
+
+        AirfoilCatalog catalog = airfoilService.getCatalog();
+        List<Airfoil> selected = new ArrayList<>(parts.length);
+        for (String part : parts) {
+            int i = catalog.indexOf(part);
+            if (i < 0) {
+                throw new ApiException(404, "Unknown airfoil '" + part.trim() + "'");
+            }
+            selected.add(catalog.get(i));
+        }
+
+        AirfoilComparison comparison = AirfoilComparison.of(selected);
+        List<Object> airfoils = new ArrayList<>(selected.size());
+        for (int i = 0; i < comparison.size(); i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("airfoil", airfoilJson(comparison.getAirfoil(i)));
+            Map<String, Object> ranks = new LinkedHashMap<>();
+            Map<String, Object> deltas = new LinkedHashMap<>();
+            for (AirfoilComparison.Metric m : AirfoilComparison.Metric.values()) {
+                ranks.put(metricKey(m), comparison.rank(m, i));
+                deltas.put(metricKey(m), comparison.percentFromBest(m, i));
+            }
+            item.put("ranks", ranks);
+            item.put("percentFromBest", deltas);
+            item.put("paretoOptimal", comparison.isParetoOptimal(i));
+            int dominator = comparison.dominator(i);
+            item.put("dominatedBy", dominator < 0 ? null : comparison.getAirfoil(dominator).getName());
+            airfoils.add(item);
+        }
+        Map<String, Object> best = new LinkedHashMap<>();
+        for (AirfoilComparison.Metric m : AirfoilComparison.Metric.values()) {
+            int b = comparison.best(m);
+            best.put(metricKey(m), b < 0 ? null : comparison.getAirfoil(b).getName());
+        }
+        List<Object> pareto = new ArrayList<>();
+        for (int i : comparison.paretoIndices()) {
+            pareto.add(comparison.getAirfoil(i).getName());
+        }
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("airfoils", airfoils);
+        out.put("best", best);
+        out.put("pareto", pareto);
+        return out;
+    }
+
+    private Object pareto(HttpExchange exchange) {
+        Map<String, String> query = queryParams(exchange);
+        ParetoFront.Objectives objectives = ParetoFront.Objectives.LIFT_DRAG_THICKNESS;
+        if (query.containsKey("objectives")) {
+            try {
+                objectives = ParetoFront.Objectives.valueOf(query.get("objectives").trim().toUpperCase(java.util.Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(400, "objectives must be lift_drag or lift_drag_thickness");
+            }
+        }
+        double reynolds = query.containsKey("reynolds") ? positiveNumber(query, "reynolds") : Double.NaN;
+
+        ParetoFront front = airfoilService.paretoFront(objectives, reynolds);
+        List<Object> airfoils = new ArrayList<>(front.size());
+        for (Airfoil a : front.getAirfoils()) {
+            airfoils.add(airfoilJson(a));
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("catalogVersion", front.getCatalogVersion());
+        out.put("objectives", objectives.name().toLowerCase(java.util.Locale.ROOT));
+        out.put("reynolds", Double.isNaN(reynolds) ? null : reynolds);
+        out.put("airfoils", airfoils);
+        return out;
+    }
+
+    // Metric names and counts describe traffic and failures, so remote scrapers need a session
+    private Object metrics(HttpExchange exchange) {
+        if (!exchange.getRemoteAddress().getAddress().isLoopbackAddress()) {
+            requireUser(exchange);
+        }
+        return Metrics.dump();
+    }
+
+    private static String metricKey(AirfoilComparison.Metric metric) {
+        switch (metric) {
+            case MAX_CL: return "maxCl";
+            case MIN_CD: return "minCd";
+            case LIFT_TO_DRAG: return "liftToDrag";
+            case THICKNESS: return "thickness";
+            case REYNOLDS_MIN: return "reynoldsMin";
+            default: return "reynoldsMax";
+        }
+    }
+
+    // ----- Plumbing -----
+    private void route(String path, Map<String, Endpoint> methods) {
+        Metrics.Timer timer = Metrics.timer(path.substring(1).replace('/', '.'));
+        server.createContext(path, exchange -> {
+            long start = System.nanoTime();
+            try {
+                // Contexts match by prefix; only the exact path is an endpoint
+                if (!exchange.getRequestURI().getPath().equals(path)) {
+                    throw new ApiException(404, "Not found");
+                }
+                Endpoint endpoint = methods.get(exchange.getRequestMethod());
+                if (endpoint == null) {
+                    exchange.getResponseHeaders().set("Allow", String.join(", ", methods.keySet()));
+                    throw new ApiException(405, "Method not allowed");
+                }
+                Object result = endpoint.handle(exchange);
+                Object status = exchange.getAttribute("status");
+                send(exchange, status instanceof Integer ? (Integer) status : 200, result);
+            } catch (ApiException e) {
+                send(exchange, e.status, Map.of("error", e.getMessage()));
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, Map.of("error", e.getMessage()));
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error handling " + exchange.getRequestMethod() + " " + path, e);
+                send(exchange, 500, Map.of("error", "Internal server error"));
+            } finally {
+                exchange.close();
+                timer.recordSince(start);
+            }
+        });
+    }
+
+    // Strings go out as plain text, everything else as JSON
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        boolean text = body instanceof String;
+        byte[] bytes = (text ? (String) body : Json.write(body)).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", text ? "text/plain; charset=utf-8" : "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        byte[] bytes;
+        try (InputStream in = exchange.getRequestBody()) {
+            bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+        }
+        if (bytes.length > MAX_BODY_BYTES) {
+            throw new ApiException(413, "Request body too large");
+        }
+        if (bytes.length == 0) {
+            return new HashMap<>();
+        }
+        return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static String bearerToken(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return null;
+        }
+        return header.substring(7).trim();
+    }
+
+    private User currentUser(HttpExchange exchange) {
+        String token = bearerToken(exchange);
+        return token == null ? null : sessions.get(token);
+    }
+
+    private User requireUser(HttpExchange exchange) {
+        User user = currentUser(exchange);
+        if (user == null) {
+            throw new ApiException(401, "Login required");
+        }
+        return user;
+    }
+
+    private static String requireString(Map<String, ?> values, String key) {
+        Object value = values.get(key);
+        if (value == null) {
+            throw new ApiException(400, key + " is required");
+        }
+        return value.toString();
+    }
+
+    // Finite values only: JSON numbers such as 1e999 parse to Infinity
+    private static double requireNumber(Map<String, ?> values, String key) {
+        Object value = values.get(key);
+        if (value == null) {
+            throw new ApiException(400, key + " is required");
+        }
+        double d;
+        try {
+            d = (value instanceof Number) ? ((Number) value).doubleValue() : Double.parseDouble(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, key + " must be a number");
+        }
+        if (!Double.isFinite(d)) {
+            throw new ApiException(400, key + " must be a finite number");
+        }
+        return d;
+    }
+
+    private static double optionalNumber(Map<String, ?> values, String key, double defaultValue) {
+        return values.containsKey(key) ? requireNumber(values, key) : defaultValue;
+    }
+
+    private static double positiveNumber(Map<String, ?> values, String key) {
+        double d = requireNumber(values, key);
+        if (!(d > 0)) {
+            throw new ApiException(400, key + " must be positive");
+        }
+        return d;
+    }
+
+    private static int intParam(Map<String, String> values, String key, int defaultValue, int min, int max) {
+        if (!values.containsKey(key)) {
+            return defaultValue;
+        }
+        double d = requireNumber(values, key);
+        if (d < min || d > max || d != Math.rint(d)) {
+            throw new ApiException(400, key + " must be an integer between " + min + " and " + max);
+        }
+        return (int) d;
+    }
+
+    private static Map<String, Object> userJson(User user) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("id", user.getId());
+        out.put("username", user.getUsername());
+        out.put("email", user.getEmail());
+        return out;
+    }
+
+    private static Map<String, Object> airfoilJson(Airfoil a) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("name", a.getName());
+        out.put("maxCl", a.getMaxCl());
+        out.put("minCd", a.getMinCd());
+        out.put("liftToDrag", a.getLiftToDragRatio());
+        out.put("reynoldsMin", a.getReynoldsMin());
+        out.put("reynoldsMax", a.getReynoldsMax());
+        out.put("applicationType", a.getApplicationType());
+        out.put("thickness", a.getThickness());
+        return out;
+    }
+}
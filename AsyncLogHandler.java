@@ -0,0 +1,212 @@
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.ErrorManager;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * java.util.logging handler that hands records to a background thread
+ * through a fixed-size lock-free ring buffer, so a log call costs one slot
+ * claim and never waits for console or file I/O. When the buffer is full
+ * the record is dropped and counted ({@code log.dropped} in {@link Metrics})
+ * rather than blocking the caller.
+ *
+ * The writer thread formats with {@link StructuredFormatter} and passes the
+ * records to the handlers that were configured before (the console by
+ * default). {@link #install()} sets this up on the root logger; the level is
+ * taken from -Dairfoil.log.level (default INFO), the buffer size from
+ * -Dairfoil.log.bufferSize, and -Dairfoil.log.async=false keeps plain
+ * synchronous logging.
+ */
+public final class AsyncLogHandler extends Handler {
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final Metrics.Counter DROPPED = Metrics.counter("log.dropped");
+
+    private static volatile AsyncLogHandler installed;
+
+    private final Handler[] targets;
+    private final AtomicReferenceArray<LogRecord> ring;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(); // next slot to claim (producers)
+    private volatile long head;                        // next slot to drain (writer thread only)
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public AsyncLogHandler(int capacity, Handler... targets) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.targets = targets.clone();
+        this.writer = new Thread(this::drainLoop, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Route everything logged through the root logger via one shared
+     * asynchronous handler. Safe to call more than once.
+     */
+    public static synchronized void install() {
+        Logger root = LogManager.getLogManager().getLogger("");
+        root.setLevel(Level.parse(System.getProperty("airfoil.log.level", "INFO")));
+        if (installed != null || !Boolean.parseBoolean(System.getProperty("airfoil.log.async", "true"))) {
+            return;
+        }
+        Handler[] previous = root.getHandlers();
+        if (previous.length == 0) {
+            previous = new Handler[] { new ConsoleHandler() };
+        }
+        for (Handler h : previous) {
+            root.removeHandler(h);
+            h.setFormatter(new StructuredFormatter());
+            h.setLevel(Level.ALL); // filtering already happened at the loggers
+        }
+        AsyncLogHandler handler = new AsyncLogHandler(
+            Integer.getInteger("airfoil.log.bufferSize", DEFAULT_CAPACITY), previous);
+        root.addHandler(handler);
+        Metrics.gauge("log.queued", handler::queued);
+        Runtime.getRuntime().addShutdownHook(new Thread(handler::close, "log-shutdown"));
+        installed = handler;
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || record == null || !isLoggable(record)) {
+            return;
+        }
+        long slot;
+        do {
+            slot = tail.get();
+            if (slot - head >= ring.length()) {
+                DROPPED.increment();
+                return;
+            }
+        } while (!tail.compareAndSet(slot, slot + 1));
+        ring.lazySet((int) (slot & mask), record);
+    }
+
+    private void drainLoop() {
+        while (true) {
+            if (!drain()) {
+                if (closed && head == tail.get()) {
+                    return;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    // Writes every published record in order; false if there was nothing to write
+    private boolean drain() {
+        boolean wrote = false;
+        long h = head;
+        while (true) {
+            int index = (int) (h & mask);
+            LogRecord record = ring.get(index);
+            if (record == null) {
+                break; // empty, or a producer has claimed the slot but not filled it yet
+            }
+            ring.lazySet(index, null);
+            head = ++h;
+            for (Handler target : targets) {
+                try {
+                    target.publish(record);
+                } catch (RuntimeException e) {
+                    reportError("Log target failed", e, ErrorManager.WRITE_FAILURE);
+                }
+            }
+            wrote = true;
+        }
+        if (wrote) {
+            for (Handler target : targets) {
+                target.flush();
+            }
+        }
+        return wrote;
+    }
+
+    /** Records waiting to be written. */
+    public int queued() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    /** Wait (briefly) until everything published so far has been written. */
+    @Override
+    public void flush() {
+        long target = tail.get();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (head < target && writer.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Handler target : targets) {
+            target.close();
+        }
+    }
+
+    /**
+     * One line per record as key=value pairs, for example:
+     * <pre>
+     * ts=2024-05-01T10:15:30.123Z level=FINE logger=DatabaseService thread=42 msg="Login succeeded for user id 7"
+     * </pre>
+     * followed by the stack trace, if any.
+     */
+    public static final class StructuredFormatter extends Formatter {
+        @Override
+        public String format(LogRecord record) {
+            StringBuilder sb = new StringBuilder(128);
+            sb.append("ts=").append(Instant.ofEpochMilli(record.getMillis()))
+              .append(" level=").append(record.getLevel().getName())
+              .append(" logger=").append(record.getLoggerName())
+              .append(" thread=").append(record.getLongThreadID())
+              .append(" msg=\"");
+            String message = formatMessage(record);
+            for (int i = 0; i < message.length(); i++) {
+                char c = message.charAt(i);
+                if (c == '"' || c == '\\') {
+                    sb.append('\\').append(c);
+                } else if (c == '\n') {
+                    sb.append("\\n");
+                } else {
+                    sb.append(c);
+                }
+            }
+            sb.append('"').append(System.lineSeparator());
+            if (record.getThrown() != null) {
+                StringWriter trace = new StringWriter();
+                record.getThrown().printStackTrace(new PrintWriter(trace));
+                sb.append(trace);
+            }
+            return sb.toString();
+        }
+    }
+}
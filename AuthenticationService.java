@@ -1,21 +1,51 @@
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
 public class AuthenticationService {
+    private static final Logger LOGGER = Logger.getLogger(AuthenticationService.class.getName());
+    private static final int LOGIN_QUEUE_CAPACITY = 64;
+
+    // Password hashing is CPU-bound by design; a small fixed pool keeps it off the
+    // Swing EDT and request threads, and the bounded queue sheds load instead of piling up
+    private static final ExecutorService LOGIN_EXECUTOR = createLoginExecutor();
+
+    private static final Metrics.Timer LOGIN_TIMER = Metrics.timer("auth.login");
+    private static final Metrics.Counter LOGIN_SUCCESS = Metrics.counter("auth.login.success");
+    private static final Metrics.Counter LOGIN_FAILURE = Metrics.counter("auth.login.failure");
+    private static final Metrics.Counter LOGIN_REJECTED = Metrics.counter("auth.login.rejected");
+
+    static {
+        Metrics.gauge("auth.login.queued", () -> ((ThreadPoolExecutor) LOGIN_EXECUTOR).getQueue().size());
+        Metrics.gauge("auth.login.active", () -> ((ThreadPoolExecutor) LOGIN_EXECUTOR).getActiveCount());
+    }
+
     private DatabaseService dbService;
 
     public AuthenticationService() {
-        dbService = new DatabaseService(); // Ensure connection is initialized in DatabaseService
+        this(DatabaseService.getShared()); // Shares the connection pool with AirfoilService
+    }
+
+    public AuthenticationService(DatabaseService dbService) {
+        this.dbService = dbService;
     }
 
     // ----- Sign up -----
     public boolean signUp(String username, String password, String email) {
         // Check if username already exists
         if (dbService.userExists(username)) {
-            System.out.println("Username already exists!");
+            LOGGER.fine("Sign-up rejected: username already exists");
             return false;
         }
 
         // Check if email already exists
         if (dbService.emailExists(email)) {
-            System.out.println("Email already registered!");
+            LOGGER.fine("Sign-up rejected: email already registered");
             return false;
         }
 
@@ -25,8 +55,39 @@ public class AuthenticationService {
 
     // ----- Login -----
     public User login(String username, String password) {
+        long start = System.nanoTime();
         // Authenticate user and get user information
-        return dbService.authenticateUser(username, password);
+        User user = dbService.authenticateUser(username, password);
+        LOGIN_TIMER.recordSince(start);
+        (user != null ? LOGIN_SUCCESS : LOGIN_FAILURE).increment();
+        return user;
+    }
+
+    /**
+     * Same as {@link #login} but runs on the login executor. The future
+     * completes with null for bad credentials, and exceptionally with
+     * {@link RejectedExecutionException} when too many logins are queued.
+     */
+    public CompletableFuture<User> loginAsync(String username, String password) {
+        try {
+            return CompletableFuture.supplyAsync(() -> login(username, password), LOGIN_EXECUTOR);
+        } catch (RejectedExecutionException e) {
+            LOGIN_REJECTED.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static ExecutorService createLoginExecutor() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(LOGIN_QUEUE_CAPACITY), r -> {
+                Thread t = new Thread(r, "login-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     // Check if username exists
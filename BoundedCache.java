@@ -0,0 +1,160 @@
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe, size-bounded cache with optional time-to-live.
+ *
+ * Reads are a lock-free hash lookup plus a volatile write of the entry's
+ * "recently used" bit. Eviction uses the CLOCK (second-chance) policy: once
+ * the cache is over capacity, entries are taken from the head of an
+ * insertion queue; recently used ones get their bit cleared and go to the
+ * back, the first unused or expired one is evicted. That approximates LRU
+ * without any reordering on the read path.
+ */
+public class BoundedCache<K, V> {
+    private final int maxSize;
+    private final long ttlNanos; // 0 = entries never expire
+    private final ConcurrentHashMap<K, Entry<K, V>> map;
+    private final ConcurrentLinkedQueue<Entry<K, V>> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger clockSize = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    private static final class Entry<K, V> {
+        final K key;
+        volatile V value;
+        volatile long expiresAt;
+        volatile boolean referenced;
+
+        Entry(K key, V value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * @param maxSize    maximum number of entries kept
+     * @param ttlMillis  time-to-live after the last write, or 0 for no expiry
+     */
+    public BoundedCache(int maxSize, long ttlMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("TTL cannot be negative");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.map = new ConcurrentHashMap<>(Math.min(maxSize, 1 << 16));
+    }
+
+    public V get(K key) {
+        Entry<K, V> entry = map.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (isExpired(entry, System.nanoTime())) {
+            if (map.remove(key, entry)) {
+                expirations.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        long expiresAt = ttlNanos == 0 ? 0 : System.nanoTime() + ttlNanos;
+        Entry<K, V> existing = map.get(key);
+        if (existing != null) {
+            // Update in place so the clock queue keeps a single node per key
+            existing.value = value;
+            existing.expiresAt = expiresAt;
+            existing.referenced = true;
+            if (map.get(key) == existing) {
+                return;
+            }
+        }
+        Entry<K, V> entry = new Entry<>(key, value, expiresAt);
+        map.put(key, entry);
+        clock.add(entry);
+        clockSize.incrementAndGet();
+        evictIfNeeded();
+    }
+
+    public void invalidate(K key) {
+        map.remove(key);
+    }
+
+    public void invalidateAll() {
+        map.clear();
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    // ----- Statistics -----
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+    public long getExpirationCount() { return expirations.sum(); }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BoundedCache[size=%d/%d, hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, expirations=%d]",
+            size(), maxSize, getHitCount(), getMissCount(), getHitRate() * 100, getEvictionCount(), getExpirationCount());
+    }
+
+    private boolean isExpired(Entry<K, V> entry, long now) {
+        return ttlNanos != 0 && now - entry.expiresAt >= 0;
+    }
+
+    private void evictIfNeeded() {
+        // Nodes of invalidated or replaced entries stay in the queue until they reach
+        // the head, so the queue is also trimmed when it grows well past the map.
+        long now = System.nanoTime();
+        while (map.size() > maxSize || clockSize.get() > 2 * maxSize) {
+            Entry<K, V> entry = clock.poll();
+            if (entry == null) {
+                return;
+            }
+            clockSize.decrementAndGet();
+            if (map.get(entry.key) != entry) {
+                continue; // stale node
+            }
+            boolean expired = isExpired(entry, now);
+            if (expired || (!entry.referenced && map.size() > maxSize)) {
+                if (map.remove(entry.key, entry)) {
+                    (expired ? expirations : evictions).increment();
+                }
+                continue;
+            }
+            // Second chance: clear the bit and move to the back
+            entry.referenced = false;
+            clock.add(entry);
+            clockSize.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,312 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Compact binary copy of the airfoil table, read back through a
+ * {@link MappedByteBuffer} so a start-up can skip the JDBC driver, SQL and
+ * row-by-row decoding entirely.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   header   80 bytes: magic "AFCT", format, row count, string table offset,
+ *            and the {@link Stamp} of the database it was written from
+ *   records  48 bytes each: maxCl, minCd, reynoldsMin, reynoldsMax, thickness
+ *            (doubles), then name and application type as string table offsets
+ *   strings  int byte length + UTF-8 bytes, each distinct string stored once;
+ *            offset -1 means null
+ * </pre>
+ *
+ * Reading copies the numeric fields into ordinary heap columns and decodes
+ * every name up front, so nothing refers to the mapping afterwards and the
+ * file can be replaced while the snapshot is in use. The mapping only makes
+ * start-up cheaper; the catalog still lives on the heap. A file whose stamp
+ * does not match the current database is ignored and rewritten; one whose
+ * string table does not check out is ignored too.
+ */
+public final class CatalogFile {
+    private static final Logger LOGGER = Logger.getLogger(CatalogFile.class.getName());
+
+    private static final int MAGIC = 0x41464354; // "AFCT"
+    private static final int FORMAT = 2;
+    private static final int HEADER_BYTES = 80;
+    private static final int RECORD_BYTES = 48;
+    private static final int NULL_STRING = -1;
+
+    private CatalogFile() {
+    }
+
+    /**
+     * Which state of the airfoils table a catalog corresponds to: its
+     * {@link DatabaseService.CatalogVersion}, plus the modification times and
+     * sizes of the database and its write-ahead log.
+     *
+     * The version decides. The file times and sizes are only a shortcut: if
+     * nothing at all was written to the database since the file was saved, it
+     * is used without opening the database. Other writes (search history,
+     * users) change the files but not the version, so the file stays valid.
+     */
+    public static final class Stamp {
+        final long dbModified, dbSize, walModified, walSize;
+        final DatabaseService.CatalogVersion version; // null when not known yet
+
+        private Stamp(long dbModified, long dbSize, long walModified, long walSize,
+                      DatabaseService.CatalogVersion version) {
+            this.dbModified = dbModified;
+            this.dbSize = dbSize;
+            this.walModified = walModified;
+            this.walSize = walSize;
+            this.version = version;
+        }
+
+        /** File times and sizes of a database, without its version; missing files count as 0. */
+        public static Stamp of(Path database) {
+            Path wal = Paths.get(database + "-wal");
+            return new Stamp(modified(database), size(database), modified(wal), size(wal), null);
+        }
+
+        /** This stamp with the catalog version read from the database. */
+        public Stamp withVersion(DatabaseService.CatalogVersion catalogVersion) {
+            return new Stamp(dbModified, dbSize, walModified, walSize, catalogVersion);
+        }
+
+        public boolean hasVersion() {
+            return version != null;
+        }
+
+        // The stored stamp (always versioned) is current if the files are untouched or the version matches
+        boolean isCurrentFor(Stamp current) {
+            boolean sameFiles = dbModified == current.dbModified && dbSize == current.dbSize
+                && walModified == current.walModified && walSize == current.walSize;
+            return sameFiles || (version != null && version.equals(current.version));
+        }
+
+        private static long modified(Path file) {
+            try {
+                return Files.getLastModifiedTime(file).toMillis();
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        private static long size(Path file) {
+            try {
+                return Files.size(file);
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+    }
+
+    /** The catalog file kept next to a database: {@code airfoils.db} -> {@code airfoils.db.catalog}. */
+    public static Path pathFor(Path database) {
+        return Paths.get(database + ".catalog");
+    }
+
+    // ----- Writing -----
+    /**
+     * Write a catalog file for {@code catalog}, replacing {@code file} atomically.
+     *
+     * @param stamp the file stamp taken before the catalog was read, with
+     *              the version read in the same transaction as the rows
+     */
+    public static void write(Path file, AirfoilCatalog catalog, Stamp stamp) throws IOException {
+        if (!stamp.hasVersion()) {
+            throw new IllegalArgumentException("A catalog file needs the catalog version it was read at");
+        }
+        int n = catalog.size();
+        Map<String, Integer> offsets = new HashMap<>();
+        ByteArrayBuilder strings = new ByteArrayBuilder();
+        int[] nameRefs = new int[n];
+        int[] typeRefs = new int[n];
+        String[] types = catalog.applicationTypeColumn();
+        for (int i = 0; i < n; i++) {
+            nameRefs[i] = intern(catalog.nameAt(i), offsets, strings);
+            typeRefs[i] = intern(types[i], offsets, strings);
+        }
+
+        Path dir = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                long stringsOffset = HEADER_BYTES + (long) n * RECORD_BYTES;
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeInt(n);
+                out.writeInt(0);
+                out.writeLong(stringsOffset);
+                out.writeLong(stamp.dbModified);
+                out.writeLong(stamp.dbSize);
+                out.writeLong(stamp.walModified);
+                out.writeLong(stamp.walSize);
+                out.writeLong(stamp.version.databaseId);
+                out.writeLong(stamp.version.version);
+                out.write(new byte[HEADER_BYTES - 72]);
+
+                double[] cl = catalog.maxClColumn();
+                double[] cd = catalog.minCdColumn();
+                double[] reMin = catalog.reynoldsMinColumn();
+                double[] reMax = catalog.reynoldsMaxColumn();
+                double[] thk = catalog.thicknessColumn();
+                for (int i = 0; i < n; i++) {
+                    out.writeDouble(cl[i]);
+                    out.writeDouble(cd[i]);
+                    out.writeDouble(reMin[i]);
+                    out.writeDouble(reMax[i]);
+                    out.writeDouble(thk[i]);
+                    out.writeInt(nameRefs[i]);
+                    out.writeInt(typeRefs[i]);
+                }
+                out.write(strings.bytes, 0, strings.size);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static int intern(String s, Map<String, Integer> offsets, ByteArrayBuilder strings) {
+        if (s == null) {
+            return NULL_STRING;
+        }
+        Integer offset = offsets.get(s);
+        if (offset == null) {
+            offset = strings.size;
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            strings.writeInt(utf8.length);
+            strings.write(utf8);
+            offsets.put(s, offset);
+        }
+        return offset;
+    }
+
+    // ----- Reading -----
+    /**
+     * Map a catalog file, or return null if it is missing, damaged, or was
+     * written from a different state of the airfoils table than {@code current}
+     * (see {@link Stamp}).
+     */
+    public static AirfoilCatalog read(Path file, Stamp current, long version) {
+        MappedByteBuffer map;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return null;
+            }
+            // The mapping stays valid after the channel is closed
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not map catalog file " + file, e);
+            return null;
+        }
+
+        if (map.getInt(0) != MAGIC || map.getInt(4) != FORMAT) {
+            LOGGER.warning("Ignoring catalog file with unknown format: " + file);
+            return null;
+        }
+        int n = map.getInt(8);
+        long stringsOffset = map.getLong(16);
+        Stamp stamp = new Stamp(map.getLong(24), map.getLong(32), map.getLong(40), map.getLong(48),
+            new DatabaseService.CatalogVersion(map.getLong(56), map.getLong(64)));
+        if (n < 0 || stringsOffset != HEADER_BYTES + (long) n * RECORD_BYTES || stringsOffset > map.capacity()) {
+            LOGGER.warning("Ignoring truncated catalog file: " + file);
+            return null;
+        }
+        if (!stamp.isCurrentFor(current)) {
+            return null; // airfoils changed since the file was written
+        }
+
+        double[] cl = new double[n];
+        double[] cd = new double[n];
+        double[] reMin = new double[n];
+        double[] reMax = new double[n];
+        double[] thk = new double[n];
+        String[] names = new String[n];
+        String[] types = new String[n];
+        Map<Integer, String> typeCache = new HashMap<>();
+        ByteBuffer strings = map.slice((int) stringsOffset, map.capacity() - (int) stringsOffset);
+        for (int i = 0, base = HEADER_BYTES; i < n; i++, base += RECORD_BYTES) {
+            cl[i] = map.getDouble(base);
+            cd[i] = map.getDouble(base + 8);
+            reMin[i] = map.getDouble(base + 16);
+            reMax[i] = map.getDouble(base + 24);
+            thk[i] = map.getDouble(base + 32);
+            int nameRef = map.getInt(base + 40);
+            int typeRef = map.getInt(base + 44);
+            // Copied out now, so a damaged table fails here and the mapping is not kept alive
+            if (!isValidString(strings, nameRef) || !isValidString(strings, typeRef)) {
+                LOGGER.warning("Ignoring catalog file with a damaged string table: " + file);
+                return null;
+            }
+            names[i] = readString(strings, nameRef);
+            if (typeRef != NULL_STRING) {
+                types[i] = typeCache.computeIfAbsent(typeRef, ref -> readString(strings, ref).intern());
+            }
+        }
+        return AirfoilCatalog.fromColumns(version, names, cl, cd, reMin, reMax, thk, types);
+    }
+
+    // Offset -1, or a length prefix and bytes that lie inside the string table
+    private static boolean isValidString(ByteBuffer strings, int offset) {
+        if (offset == NULL_STRING) {
+            return true;
+        }
+        if (offset < 0 || offset > strings.capacity() - 4) {
+            return false;
+        }
+        int length = strings.getInt(offset);
+        return length >= 0 && length <= strings.capacity() - 4 - offset;
+    }
+
+    // Absolute reads only; callers have checked the offset with isValidString
+    private static String readString(ByteBuffer strings, int offset) {
+        if (offset == NULL_STRING) {
+            return null;
+        }
+        int length = strings.getInt(offset);
+        byte[] utf8 = new byte[length];
+        strings.get(offset + 4, utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    // Growable byte array for the string table
+    private static final class ByteArrayBuilder {
+        byte[] bytes = new byte[1 << 12];
+        int size;
+
+        void writeInt(int v) {
+            ensure(4);
+            bytes[size++] = (byte) (v >>> 24);
+            bytes[size++] = (byte) (v >>> 16);
+            bytes[size++] = (byte) (v >>> 8);
+            bytes[size++] = (byte) v;
+        }
+
+        void write(byte[] b) {
+            ensure(b.length);
+            System.arraycopy(b, 0, bytes, size, b.length);
+            size += b.length;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = java.util.Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
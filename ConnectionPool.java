@@ -0,0 +1,248 @@
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Small bounded JDBC connection pool.
+ *
+ * Connections are opened lazily up to {@code maxSize} and handed out one
+ * caller at a time, so each one can keep its own cache of prepared
+ * statements without any locking. Callers borrow with {@link #acquire()}
+ * and give the connection back by closing the returned
+ * {@link PooledConnection} (try-with-resources).
+ */
+public class ConnectionPool implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+    private static final int STATEMENT_CACHE_SIZE = 32;
+    private static final Metrics.Timer ACQUIRE_TIMER = Metrics.timer("db.pool.acquire");
+
+    /**
+     * Per-connection setup run once when a connection is opened (pragmas etc).
+     */
+    public interface Initializer {
+        void initialize(Connection connection) throws SQLException;
+    }
+
+    private final String url;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final Initializer initializer;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private volatile boolean closed;
+
+    // Metrics
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+
+    public ConnectionPool(String url, int maxSize, long acquireTimeoutMillis, Initializer initializer) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.url = url;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.initializer = initializer;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Borrow a connection, waiting up to the configured timeout for one to be free.
+     */
+    public PooledConnection acquire() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + acquireTimeoutMillis + " ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        } finally {
+            long waited = System.nanoTime() - start;
+            waitNanos.add(waited);
+            ACQUIRE_TIMER.record(waited);
+        }
+
+        try {
+            PooledConnection pooled = idle.pollFirst();
+            if (pooled == null) {
+                pooled = open();
+            }
+            acquisitions.increment();
+            activeConnections.incrementAndGet();
+            pooled.borrowed = true;
+            return pooled;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try {
+            if (initializer != null) {
+                initializer.initialize(connection);
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        openConnections.incrementAndGet();
+        return new PooledConnection(connection);
+    }
+
+    private void release(PooledConnection pooled) {
+        activeConnections.decrementAndGet();
+        boolean reusable = !closed && pooled.resetForReuse();
+        if (reusable) {
+            idle.offerFirst(pooled); // most recently used first keeps its statements warm
+        } else {
+            pooled.closePhysical();
+        }
+        permits.release();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            pooled.closePhysical();
+        }
+    }
+
+    // ----- Metrics -----
+    public int getMaxSize() { return maxSize; }
+    public int getOpenCount() { return openConnections.get(); }
+    public int getActiveCount() { return activeConnections.get(); }
+    public int getIdleCount() { return idle.size(); }
+    public long getAcquisitionCount() { return acquisitions.sum(); }
+    public long getTotalWaitNanos() { return waitNanos.sum(); }
+
+    public double getAverageWaitMillis() {
+        long count = acquisitions.sum();
+        return count == 0 ? 0.0 : waitNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public double getStatementCacheHitRate() {
+        long hits = statementHits.sum();
+        long total = hits + statementMisses.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPool[open=%d, active=%d, idle=%d, max=%d, acquisitions=%d, avgWait=%.3f ms, stmtHitRate=%.1f%%]",
+            getOpenCount(), getActiveCount(), getIdleCount(), maxSize, getAcquisitionCount(),
+            getAverageWaitMillis(), getStatementCacheHitRate() * 100);
+    }
+
+    /**
+     * A borrowed connection. Statements from {@link #prepare(String)} are cached
+     * and must not be closed by the caller; close their ResultSets instead.
+     */
+    public final class PooledConnection implements AutoCloseable {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements;
+        private volatile boolean borrowed;
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() > STATEMENT_CACHE_SIZE) {
+                        closeQuietly(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        public Connection connection() {
+            return connection;
+        }
+
+        /**
+         * Cached prepared statement for {@code sql}, with parameters cleared.
+         */
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement stmt = statements.get(sql);
+            if (stmt != null && !stmt.isClosed()) {
+                statementHits.increment();
+                stmt.clearParameters();
+                return stmt;
+            }
+            statementMisses.increment();
+            stmt = connection.prepareStatement(sql);
+            statements.put(sql, stmt);
+            return stmt;
+        }
+
+        @Override
+        public void close() {
+            if (borrowed) {
+                borrowed = false;
+                release(this);
+            }
+        }
+
+        // Undo anything a caller left behind; false if the connection is unusable
+        private boolean resetForReuse() {
+            try {
+                if (connection.isClosed()) {
+                    return false;
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+                return true;
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Discarding pooled connection", e);
+                return false;
+            }
+        }
+
+        private void closePhysical() {
+            for (PreparedStatement stmt : statements.values()) {
+                closeQuietly(stmt);
+            }
+            statements.clear();
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Failed to close connection", e);
+            }
+            openConnections.decrementAndGet();
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Failed to close cached statement", e);
+        }
+    }
+}
@@ -1,21 +1,119 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import java.util.HashMap;
-import java.util.Map;
-
 public class DatabaseService {
     private static final Logger LOGGER = Logger.getLogger(DatabaseService.class.getName());
-    private final Connection connection;
+    private static final String DEFAULT_URL = "jdbc:sqlite:airfoils.db";
+    private static final int DEFAULT_POOL_SIZE = 4;
+    private static final long ACQUIRE_TIMEOUT_MILLIS = 30_000;
+    private static final int BUSY_TIMEOUT_MILLIS = 5_000;
+    private static final int CACHE_SIZE_KIB = 16 * 1024;
+    private static final long MMAP_SIZE_BYTES = 256L * 1024 * 1024;
+    private static final int USER_CACHE_SIZE = 10_000;
+    private static final long USER_CACHE_TTL_MILLIS = 15 * 60 * 1000;
+
+    // ----- Metrics -----
+    // Per-method latency; see Metrics.dump() or the airfoil:type=Metrics JMX bean
+    private static final Metrics.Timer AUTHENTICATE_TIMER = Metrics.timer("db.authenticateUser");
+    private static final Metrics.Timer ADD_USER_TIMER = Metrics.timer("db.addUser");
+    private static final Metrics.Timer USER_EXISTS_TIMER = Metrics.timer("db.userExists");
+    private static final Metrics.Timer EMAIL_EXISTS_TIMER = Metrics.timer("db.emailExists");
+    private static final Metrics.Timer ADD_SEARCH_HISTORY_TIMER = Metrics.timer("db.addSearchHistory");
+    private static final Metrics.Timer GET_SEARCH_HISTORY_TIMER = Metrics.timer("db.getSearchHistory");
+    private static final Metrics.Timer ADD_AIRFOIL_TIMER = Metrics.timer("db.addAirfoil");
+    private static final Metrics.Timer UPSERT_AIRFOILS_TIMER = Metrics.timer("db.upsertAirfoils");
+    private static final Metrics.Timer GET_ALL_AIRFOILS_TIMER = Metrics.timer("db.getAllAirfoils");
+    private static final Metrics.Timer READ_AIRFOIL_TABLE_TIMER = Metrics.timer("db.readAirfoilTable");
+    private static final Metrics.Timer GET_CATALOG_VERSION_TIMER = Metrics.timer("db.getCatalogVersion");
+    private static final Metrics.Timer AIRFOIL_EXISTS_TIMER = Metrics.timer("db.airfoilExists");
+    private static final Metrics.Timer GET_POLARS_TIMER = Metrics.timer("db.getPolars");
+    private static final Metrics.Counter ERRORS = Metrics.counter("db.errors");
+
+    // One pool per database file, shared by every service in the process
+    private static volatile DatabaseService shared;
+
+    private final String url;
+    private final int poolSize;
+
+    // Opened on first use, not in the constructor, so creating services costs nothing at startup
+    private volatile ConnectionPool pool;
     
-    // Cache for storing authenticated users (username -> User)
-    private final Map<String, User> userCache = new HashMap<>();
+    // Recently authenticated users (lower-case username -> user and stored credential)
+    private final BoundedCache<String, CachedLogin> userCache =
+        new BoundedCache<>(USER_CACHE_SIZE, USER_CACHE_TTL_MILLIS);
+
+    private final PasswordHasher passwordHasher = new PasswordHasher();
+    private volatile String dummyHash;
+
+    // A cache hit still has to present the right password, so a keyed digest of it is kept with the user
+    private static final class CachedLogin {
+        final User user;
+        final byte[] passwordDigest;
+
+        CachedLogin(User user, byte[] passwordDigest) {
+            this.user = user;
+            this.passwordDigest = passwordDigest;
+        }
+    }
+
+    /**
+     * The process-wide instance for airfoils.db, created on first use.
+     * Pool size can be set with -Dairfoil.db.poolSize=N and the database
+     * with -Dairfoil.db.url=jdbc:sqlite:path.
+     */
+    public static DatabaseService getShared() {
+        DatabaseService instance = shared;
+        if (instance == null) {
+            synchronized (DatabaseService.class) {
+                instance = shared;
+                if (instance == null) {
+                    instance = new DatabaseService(System.getProperty("airfoil.db.url", DEFAULT_URL),
+                        Integer.getInteger("airfoil.db.poolSize", DEFAULT_POOL_SIZE));
+                    shared = instance;
+                }
+            }
+        }
+        return instance;
+    }
 
     public DatabaseService() {
-        Connection conn = null;
+        this(DEFAULT_URL, DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * Nothing is loaded or opened here: the driver, the first connection and
+     * the schema migrations happen on the first database call.
+     */
+    public DatabaseService(String url, int poolSize) {
+        this.url = url;
+        this.poolSize = poolSize;
+    }
+
+    private ConnectionPool pool() {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (this) {
+                current = pool;
+                if (current == null) {
+                    current = openPool();
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private ConnectionPool openPool() {
+        ConnectionPool connectionPool = null;
         try {
             // Load the SQLite JDBC driver (requires the driver jar on the classpath)
             try {
@@ -33,11 +131,12 @@ public class DatabaseService {
             }
 
             // Connect to the database
-            try {
-                conn = DriverManager.getConnection("jdbc:sqlite:airfoils.db");
-                initializeDatabaseTables(conn);
-                this.connection = conn;
+            connectionPool = new ConnectionPool(url, poolSize, ACQUIRE_TIMEOUT_MILLIS, DatabaseService::configureConnection);
+            try (ConnectionPool.PooledConnection pc = connectionPool.acquire()) {
+                SchemaMigrations.migrate(pc.connection());
                 LOGGER.info("✓ Database connected successfully.");
+                registerPoolGauges(connectionPool);
+                return connectionPool;
             } catch (SQLException e) {
                 String error = "\n✗ FATAL ERROR: Could not connect to database!\n" +
                     "Error: " + e.getMessage() + "\n\n" +
@@ -52,221 +151,632 @@ public class DatabaseService {
             String error = "\n✗ FATAL ERROR: Unexpected database error!\n" +
                 "Error: " + e.getMessage();
             LOGGER.log(Level.SEVERE, error, e);
-            if (conn != null) {
-                try {
-                    conn.close();
-                } catch (SQLException se) {
-                    LOGGER.log(Level.WARNING, "Failed to close connection", se);
-                }
+            if (connectionPool != null) {
+                connectionPool.close();
             }
             throw new RuntimeException(error, e);
         }
     }
 
+    private void registerPoolGauges(ConnectionPool connectionPool) {
+        Metrics.gauge("db.pool.active", connectionPool::getActiveCount);
+        Metrics.gauge("db.pool.idle", connectionPool::getIdleCount);
+        Metrics.gauge("db.pool.open", connectionPool::getOpenCount);
+        Metrics.gauge("db.pool.statementCacheHitRate", connectionPool::getStatementCacheHitRate);
+        Metrics.gauge("db.userCache.size", userCache::size);
+        Metrics.gauge("db.userCache.hitRate", userCache::getHitRate);
+    }
+
+    /**
+     * Pool statistics: wait time, active connections, statement-cache hit rate.
+     */
+    public ConnectionPool getConnectionPool() {
+        return pool();
+    }
+
+    /**
+     * The SQLite file behind this service, or null for in-memory and URI-style databases.
+     * Does not open the database.
+     */
+    public Path getDatabaseFile() {
+        String prefix = "jdbc:sqlite:";
+        if (!url.startsWith(prefix)) {
+            return null;
+        }
+        String file = url.substring(prefix.length());
+        if (file.isEmpty() || file.startsWith(":") || file.startsWith("file:")) {
+            return null;
+        }
+        return Paths.get(file);
+    }
+
+    /** True once the first connection has been opened. */
+    public boolean isInitialized() {
+        return pool != null;
+    }
+
+    public void close() {
+        ConnectionPool current = pool;
+        if (current != null) {
+            current.close();
+        }
+    }
+
     // ----- User Authentication Methods -----
     public User authenticateUser(String username, String password) {
-        // Check cache first
-        if (username != null) {
-            User cachedUser = userCache.get(username.toLowerCase());
-            if (cachedUser != null) {
-                System.out.println("Debug: Found user in cache: " + username);
-                return cachedUser;
+        long start = System.nanoTime();
+        try {
+            // Input validation and normalization
+            String inputUser = (username == null) ? "" : username.trim().toLowerCase();
+            String inputPassword = (password == null) ? "" : password;
+
+            // Check cache first; a wrong password falls through to the database in case it changed
+            CachedLogin cached = userCache.get(inputUser);
+            if (cached != null && MessageDigest.isEqual(cached.passwordDigest, passwordHasher.sessionDigest(inputPassword))) {
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Login served from cache for user id {0}", cached.user.getId());
+                }
+                return cached.user;
             }
-        }
-        
-        // Input validation and normalization
-        String inputUser = (username == null) ? "" : username.trim().toLowerCase();
-        String inputPassword = (password == null) ? "" : password;
-
-        // SQL query using parameterized query for security
-        String sql = "SELECT id, username, email, password FROM users WHERE lower(username) = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, inputUser);
-            
-            // Debug log before executing query
-            System.out.println("Debug: Checking credentials for user (normalized): '" + inputUser + "'");
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    String storedPassword = rs.getString("password");
-                    
-                    // Debug log for password length (without revealing actual passwords)
-                    System.out.println("Debug: storedPassword.length=" + 
-                        (storedPassword == null ? 0 : storedPassword.length()) + 
-                        ", inputPassword.length=" + inputPassword.length());
-                    
-                    // Compare passwords
-                    if (inputPassword.equals(storedPassword)) {
-                        // Authentication successful
-                        int id = rs.getInt("id");
-                        String email = rs.getString("email");
-                        String storedUsername = rs.getString("username");
-                        
-                        // Create user and add to cache
-                        User authenticatedUser = new User(id, storedUsername, email);
-                        userCache.put(storedUsername.toLowerCase(), authenticatedUser);
-                        
-                        System.out.println("Debug: Authentication successful for user: " + storedUsername);
-                        return authenticatedUser;
+
+            // SQL query using parameterized query for security
+            String sql = "SELECT id, username, email, password FROM users WHERE lower(username) = ?";
+            int id;
+            String storedUsername;
+            String email;
+            String storedPassword;
+
+            // Only the lookup holds a pooled connection; the deliberately slow hash check runs after it is returned
+            try (ConnectionPool.PooledConnection pc = pool().acquire()) {
+                PreparedStatement stmt = pc.prepare(sql);
+                stmt.setString(1, inputUser);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        id = rs.getInt("id");
+                        storedUsername = rs.getString("username");
+                        email = rs.getString("email");
+                        storedPassword = rs.getString("password");
                     } else {
-                        System.out.println("Debug: Password mismatch for user: " + inputUser);
+                        id = -1;
+                        storedUsername = null;
+                        email = null;
+                        storedPassword = null;
                     }
-                } else {
-                    System.out.println("Debug: User not found: " + inputUser);
                 }
+            } catch (SQLException e) {
+                ERRORS.increment();
+                LOGGER.log(Level.SEVERE, "Error during authentication", e);
+                return null;
+            }
+
+            // Unknown users pay for a full hash check too, so response time does not reveal which names exist
+            if (storedPassword == null) {
+                passwordHasher.verify(inputPassword, dummyHash());
+                LOGGER.fine("Login failed: unknown user");
+                return null;
+            }
+
+            if (!passwordHasher.verify(inputPassword, storedPassword)) {
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Login failed: wrong password for user id {0}", id);
+                }
+                return null;
+            }
+
+            // Legacy plaintext rows and hashes from an older cost setting are upgraded on login
+            if (passwordHasher.needsRehash(storedPassword)) {
+                rehashPassword(id, storedPassword, passwordHasher.hash(inputPassword));
+            }
+
+            // Create user and add to cache
+            User authenticatedUser = new User(id, storedUsername, email);
+            userCache.put(storedUsername.toLowerCase(), new CachedLogin(authenticatedUser, passwordHasher.sessionDigest(inputPassword)));
+
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Login succeeded for user id {0}", id);
             }
+            return authenticatedUser;
+        } finally {
+            AUTHENTICATE_TIMER.recordSince(start);
+        }
+    }
+
+    // Hash of a random password at the current cost; a racing first call just hashes twice
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            byte[] secret = new byte[16];
+            new SecureRandom().nextBytes(secret);
+            hash = passwordHasher.hash(Base64.getEncoder().encodeToString(secret));
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    // Compare-and-set so a password changed concurrently is not overwritten
+    private void rehashPassword(int userId, String oldValue, String newHash) {
+        String sql = "UPDATE users SET password = ? WHERE id = ? AND password = ?";
+        try (ConnectionPool.PooledConnection pc = pool().acquire()) {
+            PreparedStatement stmt = pc.prepare(sql);
+            stmt.setString(1, newHash);
+            stmt.setInt(2, userId);
+            stmt.setString(3, oldValue);
+            stmt.executeUpdate();
         } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error during authentication", e);
+            // Login still succeeds; the row is upgraded on a later attempt
+            ERRORS.increment();
+            LOGGER.log(Level.WARNING, "Could not rehash password for user id " + userId, e);
         }
-        
-        return null;
+    }
+
+    public PasswordHasher getPasswordHasher() {
+        return passwordHasher;
     }
 
     // Clear user from cache (call this when user data changes)
     public void clearUserFromCache(String username) {
         if (username != null) {
-            userCache.remove(username.toLowerCase());
+            userCache.invalidate(username.trim().toLowerCase());
         }
     }
+
+    /** Hit/miss/eviction counters of the login cache. */
+    public BoundedCache<String, ?> getUserCache() {
+        return userCache;
+    }
     
     // ----- User Management Methods -----
     public boolean addUser(String username, String password, String email) {
-        if (connection == null) {
-            return false;
-        }
-        String sql = "INSERT INTO users (username, password, email) VALUES (?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, username);
-            stmt.setString(2, password);
-            stmt.setString(3, email);
-            stmt.executeUpdate();
-            return true;
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error adding user: " + username, e);
-            return false;
+        long start = System.nanoTime();
+        try {
+            String sql = "INSERT INTO users (username, password, email) VALUES (?, ?, ?)";
+            String passwordHash = passwordHasher.hash(password);
+            try (ConnectionPool.PooledConnection pc = pool().acquire()) {
+                PreparedStatement stmt = pc.prepare(sql);
+                stmt.setString(1, username);
+                stmt.setString(2, passwordHash);
+                stmt.setString(3, email);
+                stmt.executeUpdate();
+                return true;
+            } catch (SQLException e) {
+                ERRORS.increment();
+                LOGGER.log(Level.SEVERE, "Error adding user: " + username, e);
+                return false;
+            }
+        } finally {
+            ADD_USER_TIMER.recordSince(start);
         }
     }
 
     public boolean userExists(String username) {
-        if (connection == null) {
-            return false;
-        }
-        String inputUser = (username == null) ? "" : username.trim();
-        String sql = "SELECT 1 FROM users WHERE lower(username) = lower(?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, inputUser);
-            ResultSet rs = stmt.executeQuery();
-            return rs.next();
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error checking if user exists: " + inputUser, e);
-            return false;
+        long start = System.nanoTime();
+        try {
+            String inputUser = (username == null) ? "" : username.trim();
+            String sql = "SELECT 1 FROM users WHERE lower(username) = lower(?)";
+            try (ConnectionPool.PooledConnection pc = pool().acquire()) {
+                PreparedStatement stmt = pc.prepare(sql);
+                stmt.setString(1, inputUser);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next();
+                }
+            } catch (SQLException e) {
+                ERRORS.increment();
+                LOGGER.log(Level.SEVERE, "Error checking if user exists: " + inputUser, e);
+                return false;
+            }
+        } finally {
+            USER_EXISTS_TIMER.recordSince(start);
         }
     }
 
     public boolean emailExists(String email) {
-        if (connection == null) {
-            return false;
+        long start = System.nanoTime();
+        try {
+            String sql = "SELECT 1 FROM users WHERE lower(email) = lower(?)";
+            try (ConnectionPool.PooledConnection pc = pool().acquire()) {
+                PreparedStatement stmt = pc.prepare(sql);
+                stmt.setString(1, email);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next();
+                }
+            } catch (SQLException e) {
+                ERRORS.increment();
+                LOGGER.log(Level.SEVERE, "Error checking if email exists: " + email, e);
+                return false;
+            }
+        } finally {
+            EMAIL_EXISTS_TIMER.recordSince(start);
         }
-        String sql = "SELECT 1 FROM users WHERE email = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, email);
-            ResultSet rs = stmt.executeQuery();
-            return rs.next();
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error checking if email exists: " + email, e);
-            return false;
+    }
+
+    // ----- Search History Methods -----
+    /**
+     * Append one search for a user.
+     *
+     * @return the new entry's id, or -1 on failure
+     */
+    public long addSearchHistory(int userId, FlightParameters params) {
+        long start = System.nanoTime();
+        try {
+            String sql = "INSERT INTO search_history (user_id, searched_at, speed, altitude, wing_area, required_lift) "
+                + "VALUES (?, ?, ?, ?, ?, ?) RETURNING id";
+            try (ConnectionPool.PooledConnection pc = pool().acquire()) {
+                PreparedStatement stmt = pc.prepare(sql);
+                stmt.setInt(1, userId);
+                stmt.setLong(2, params.getTimestamp());
+                stmt.setDouble(3, params.getSpeed());
+                stmt.setDouble(4, params.getAltitude());
+                stmt.setDouble(5, params.getWingArea());
+                stmt.setDouble(6, params.getRequiredLift());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? rs.getLong(1) : -1;
+                }
+            } catch (SQLException e) {
+                ERRORS.increment();
+                LOGGER.log(Level.SEVERE, "Error saving search history for user id " + userId, e);
+                return -1;
+            }
+        } finally {
+            ADD_SEARCH_HISTORY_TIMER.recordSince(start);
+        }
+    }
+
+    /**
+     * Up to {@code limit} searches of a user with id below {@code beforeId}, newest first.
+     */
+    public List<SearchHistoryEntry> getSearchHistory(int userId, long beforeId, int limit) {
+        long start = System.nanoTime();
+        try {
+            String sql = "SELECT id, searched_at, speed, altitude, wing_area, required_lift FROM search_history "
+                + "WHERE user_id = ? AND id < ? ORDER BY id DESC LIMIT ?";
+            List<SearchHistoryEntry> entries = new ArrayList<>(limit);
+            try (ConnectionPool.PooledConnection pc = pool().acquire()) {
+                PreparedStatement stmt = pc.prepare(sql);
+                stmt.setInt(1, userId);
+                stmt.setLong(2, beforeId);
+                stmt.setInt(3, limit);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        FlightParameters params = new FlightParameters(
+                            rs.getDouble("speed"),
+                            rs.getDouble("altitude"),
+                            rs.getDouble("wing_area"),
+                            rs.getDouble("required_lift"),
+                            rs.getLong("searched_at"));
+                        entries.add(new SearchHistoryEntry(rs.getLong("id"), params));
+                    }
+                }
+            } catch (SQLException e) {
+                ERRORS.increment();
+                LOGGER.log(Level.SEVERE, "Error reading search history for user id " + userId, e);
+            }
+            return entries;
+        } finally {
+            GET_SEARCH_HISTORY_TIMER.recordSince(start);
         }
     }
 
     // ----- Airfoil Methods -----
     public boolean addAirfoil(String name, double maxCl, double minCd, double reynoldsMin, double reynoldsMax, String applicationType, double thickness) {
-        if (connection == null) {
-            return false;
+        long start = System.nanoTime();
+        try {
+            String sql = "INSERT INTO airfoils (name, maxCl, minCd, reynoldsMin, reynoldsMax, applicationType, thickness) VALUES (?, ?, ?, ?, ?, ?, ?)";
+            try (ConnectionPool.PooledConnection pc = pool().acquire()) {
+                PreparedStatement stmt = pc.prepare(sql);
+                stmt.setString(1, name);
+                stmt.setDouble(2, maxCl);
+                stmt.setDouble(3, minCd);
+                stmt.setDouble(4, reynoldsMin);
+                stmt.setDouble(5, reynoldsMax);
+                stmt.setString(6, applicationType);
+                stmt.setDouble(7, thickness);
+                stmt.executeUpdate();
+                return true;
+            } catch (SQLException e) {
+                ERRORS.increment();
+                LOGGER.log(Level.SEVERE, "Error adding airfoil: " + name, e);
+                return false;
+            }
+        } finally {
+            ADD_AIRFOIL_TIMER.recordSince(start);
         }
-        String sql = "INSERT INTO airfoils (name, maxCl, minCd, reynoldsMin, reynoldsMax, applicationType, thickness) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, name);
-            stmt.setDouble(2, maxCl);
-            stmt.setDouble(3, minCd);
-            stmt.setDouble(4, reynoldsMin);
-            stmt.setDouble(5, reynoldsMax);
-            stmt.setString(6, applicationType);
-            stmt.setDouble(7, thickness);
-            stmt.executeUpdate();
-            return true;
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error adding airfoil: " + name, e);
-            return false;
+    }
+
+    /**
+     * Insert or update (by name) many airfoils in a single transaction.
+     *
+     * @return the number of rows written, or -1 if the batch was rolled back
+     */
+    public int upsertAirfoils(List<Airfoil> airfoils) {
+        return upsertAirfoils(airfoils, Map.of());
+    }
+
+    /**
+     * Insert or update (by name) many airfoils and, in the same transaction,
+     * replace the stored polars of every airfoil that has an entry in
+     * {@code polarsByName}. If the polars cannot be written, the airfoil
+     * rows are still committed without them.
+     *
+     * @return the number of airfoil rows written, or -1 if the batch was rolled back
+     */
+    public int upsertAirfoils(List<Airfoil> airfoils, Map<String, List<AirfoilPolar>> polarsByName) {
+        long start = System.nanoTime();
+        try {
+            if (airfoils.isEmpty()) {
+                return 0;
+            }
+            String sql = "INSERT INTO airfoils (name, maxCl, minCd, reynoldsMin, reynoldsMax, applicationType, thickness) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+                "ON CONFLICT(name) DO UPDATE SET maxCl = excluded.maxCl, minCd = excluded.minCd, " +
+                "reynoldsMin = excluded.reynoldsMin, reynoldsMax = excluded.reynoldsMax, " +
+                "applicationType = excluded.applicationType, thickness = excluded.thickness";
+            try (ConnectionPool.PooledConnection pc = pool().acquire()) {
+                Connection conn = pc.connection();
+                conn.setAutoCommit(false);
+                try {
+                    PreparedStatement stmt = pc.prepare(sql);
+                    for (Airfoil a : airfoils) {
+                        stmt.setString(1, a.getName());
+                        stmt.setDouble(2, a.getMaxCl());
+                        stmt.setDouble(3, a.getMinCd());
+                        stmt.setDouble(4, a.getReynoldsMin());
+                        stmt.setDouble(5, a.getReynoldsMax());
+                        stmt.setString(6, a.getApplicationType());
+                        stmt.setDouble(7, a.getThickness());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                    if (!polarsByName.isEmpty()) {
+                        // Polars are derived data: if they cannot be stored, still keep the airfoil rows
+                        Savepoint beforePolars = conn.setSavepoint();
+                        try {
+                            writePolars(pc, polarsByName);
+                        } catch (SQLException e) {
+                            conn.rollback(beforePolars);
+                            ERRORS.increment();
+                            LOGGER.log(Level.WARNING, "Could not store polars of " + polarsByName.size()
+                                + " airfoils; their catalog values are kept", e);
+                        }
+                    }
+                    conn.commit();
+                    return airfoils.size();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                ERRORS.increment();
+                LOGGER.log(Level.SEVERE, "Error writing batch of " + airfoils.size() + " airfoils", e);
+                return -1;
+            }
+        } finally {
+            UPSERT_AIRFOILS_TIMER.recordSince(start);
         }
     }
 
     public List<Airfoil> getAllAirfoils() {
-        List<Airfoil> airfoils = new ArrayList<>();
-        if (connection == null) {
+        long start = System.nanoTime();
+        try {
+            List<Airfoil> airfoils = new ArrayList<>();
+            String sql = "SELECT * FROM airfoils";
+            try (ConnectionPool.PooledConnection pc = pool().acquire();
+                 ResultSet rs = pc.prepare(sql).executeQuery()) {
+                while (rs.next()) {
+                    Airfoil a = new Airfoil(
+                        rs.getString("name"),
+                        rs.getDouble("maxCl"),
+                        rs.getDouble("minCd"),
+                        rs.getDouble("reynoldsMin"),
+                        rs.getDouble("reynoldsMax"),
+                        rs.getString("applicationType"),
+                        rs.getDouble("thickness")
+                    );
+                    airfoils.add(a);
+                }
+            } catch (SQLException e) {
+                ERRORS.increment();
+                LOGGER.log(Level.SEVERE, "Error retrieving all airfoils", e);
+            }
             return airfoils;
+        } finally {
+            GET_ALL_AIRFOILS_TIMER.recordSince(start);
         }
-        String sql = "SELECT * FROM airfoils";
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                Airfoil a = new Airfoil(
-                    rs.getString("name"),
-                    rs.getDouble("maxCl"),
-                    rs.getDouble("minCd"),
-                    rs.getDouble("reynoldsMin"),
-                    rs.getDouble("reynoldsMax"),
-                    rs.getString("applicationType"),
-                    rs.getDouble("thickness")
-                );
-                airfoils.add(a);
+    }
+
+    /**
+     * Identity and change count of the airfoils table (see schema migration 6).
+     * Any committed insert, update or delete of an airfoil raises the version.
+     */
+    public static final class CatalogVersion {
+        public final long databaseId;
+        public final long version;
+
+        public CatalogVersion(long databaseId, long version) {
+            this.databaseId = databaseId;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CatalogVersion)) {
+                return false;
             }
+            CatalogVersion v = (CatalogVersion) o;
+            return databaseId == v.databaseId && version == v.version;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(databaseId) * 31 + Long.hashCode(version);
+        }
+    }
+
+    /**
+     * All airfoil rows and the {@link CatalogVersion} they were read at.
+     * {@code complete} is false if the read failed part-way; the rows are
+     * then whatever was read before the error.
+     */
+    public static final class AirfoilTable {
+        public final List<Airfoil> airfoils;
+        public final CatalogVersion version;
+        public final boolean complete;
+
+        AirfoilTable(List<Airfoil> airfoils, CatalogVersion version, boolean complete) {
+            this.airfoils = airfoils;
+            this.version = version;
+            this.complete = complete;
+        }
+    }
+
+    /**
+     * Current catalog version, or null if it cannot be read.
+     */
+    public CatalogVersion getCatalogVersion() {
+        long start = System.nanoTime();
+        try (ConnectionPool.PooledConnection pc = pool().acquire()) {
+            return readCatalogVersion(pc);
         } catch (SQLException e) {
+            ERRORS.increment();
+            LOGGER.log(Level.SEVERE, "Error reading the catalog version", e);
+            return null;
+        } finally {
+            GET_CATALOG_VERSION_TIMER.recordSince(start);
+        }
+    }
+
+    /**
+     * Like {@link #getAllAirfoils} but in one read transaction together with
+     * the catalog version, and telling whether the read succeeded.
+     */
+    public AirfoilTable readAirfoilTable() {
+        long start = System.nanoTime();
+        List<Airfoil> airfoils = new ArrayList<>();
+        try (ConnectionPool.PooledConnection pc = pool().acquire()) {
+            Connection conn = pc.connection();
+            conn.setAutoCommit(false);
+            try {
+                CatalogVersion version = readCatalogVersion(pc);
+                try (ResultSet rs = pc.prepare("SELECT * FROM airfoils").executeQuery()) {
+                    while (rs.next()) {
+                        airfoils.add(new Airfoil(
+                            rs.getString("name"),
+                            rs.getDouble("maxCl"),
+                            rs.getDouble("minCd"),
+                            rs.getDouble("reynoldsMin"),
+                            rs.getDouble("reynoldsMax"),
+                            rs.getString("applicationType"),
+                            rs.getDouble("thickness")
+                        ));
+                    }
+                }
+                conn.commit();
+                return new AirfoilTable(airfoils, version, version != null);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            ERRORS.increment();
             LOGGER.log(Level.SEVERE, "Error retrieving all airfoils", e);
+            return new AirfoilTable(airfoils, null, false);
+        } finally {
+            READ_AIRFOIL_TABLE_TIMER.recordSince(start);
         }
-        return airfoils;
     }
 
-    public boolean airfoilExists(String name) {
-        if (connection == null) {
-            return false;
+    private static CatalogVersion readCatalogVersion(ConnectionPool.PooledConnection pc) throws SQLException {
+        try (ResultSet rs = pc.prepare("SELECT database_id, version FROM catalog_version WHERE id = 1").executeQuery()) {
+            return rs.next() ? new CatalogVersion(rs.getLong(1), rs.getLong(2)) : null;
         }
-        String sql = "SELECT 1 FROM airfoils WHERE name = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, name);
-            ResultSet rs = stmt.executeQuery();
-            return rs.next();
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error checking if airfoil exists: " + name, e);
-            return false;
+    }
+
+    private static void writePolars(ConnectionPool.PooledConnection pc, Map<String, List<AirfoilPolar>> polarsByName)
+            throws SQLException {
+        PreparedStatement delete = pc.prepare("DELETE FROM airfoil_polars WHERE airfoil_name = ?");
+        PreparedStatement insert = pc.prepare(
+            "INSERT INTO airfoil_polars (airfoil_name, reynolds, data) VALUES (?, ?, ?) " +
+            "ON CONFLICT(airfoil_name, reynolds) DO UPDATE SET data = excluded.data");
+        try {
+            for (Map.Entry<String, List<AirfoilPolar>> entry : polarsByName.entrySet()) {
+                delete.setString(1, entry.getKey());
+                delete.addBatch();
+                for (AirfoilPolar polar : entry.getValue()) {
+                    insert.setString(1, entry.getKey());
+                    insert.setDouble(2, polar.getReynolds());
+                    insert.setBytes(3, polar.toBytes());
+                    insert.addBatch();
+                }
+            }
+            delete.executeBatch();
+            insert.executeBatch();
+        } finally {
+            // The statements are cached by the pool; never leave a half-run batch behind
+            delete.clearBatch();
+            insert.clearBatch();
+        }
+    }
+
+    /**
+     * Stored polars of the named airfoil, empty if it has none.
+     */
+    public List<AirfoilPolar> getPolars(String airfoilName) {
+        long start = System.nanoTime();
+        try {
+            String sql = "SELECT reynolds, data FROM airfoil_polars WHERE airfoil_name = ? ORDER BY reynolds";
+            List<AirfoilPolar> polars = new ArrayList<>();
+            try (ConnectionPool.PooledConnection pc = pool().acquire()) {
+                PreparedStatement stmt = pc.prepare(sql);
+                stmt.setString(1, airfoilName);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        polars.add(AirfoilPolar.fromBytes(rs.getDouble(1), rs.getBytes(2)));
+                    }
+                }
+            } catch (SQLException e) {
+                ERRORS.increment();
+                LOGGER.log(Level.SEVERE, "Error reading polars of airfoil: " + airfoilName, e);
+            }
+            return polars;
+        } finally {
+            GET_POLARS_TIMER.recordSince(start);
+        }
+    }
+
+    public boolean airfoilExists(String name) {
+        long start = System.nanoTime();
+        try {
+            String sql = "SELECT 1 FROM airfoils WHERE lower(name) = lower(?)";
+            try (ConnectionPool.PooledConnection pc = pool().acquire()) {
+                PreparedStatement stmt = pc.prepare(sql);
+                stmt.setString(1, name);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next();
+                }
+            } catch (SQLException e) {
+                ERRORS.increment();
+                LOGGER.log(Level.SEVERE, "Error checking if airfoil exists: " + name, e);
+                return false;
+            }
+        } finally {
+            AIRFOIL_EXISTS_TIMER.recordSince(start);
         }
     }
 
-    private static void initializeDatabaseTables(Connection conn) throws SQLException {
-        // Create users table if it doesn't exist
+    // Per-connection settings, applied when the pool opens a connection
+    private static void configureConnection(Connection conn) throws SQLException {
         try (Statement stmt = conn.createStatement()) {
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS users (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    username TEXT NOT NULL UNIQUE,
-                    password TEXT NOT NULL,
-                    email TEXT UNIQUE
-                )
-            """);
-
-            // Create airfoils table if it doesn't exist
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS airfoils (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    name TEXT NOT NULL UNIQUE,
-                    maxCl REAL,
-                    minCd REAL,
-                    reynoldsMin REAL,
-                    reynoldsMax REAL,
-                    applicationType TEXT,
-                    thickness REAL
-                )
-            """);
+            // Let concurrent writers wait for the file lock instead of failing with SQLITE_BUSY
+            stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MILLIS);
+            // WAL is crash-safe with NORMAL; FULL would fsync on every commit
+            stmt.execute("PRAGMA synchronous = NORMAL");
+            // Negative cache_size is in KiB
+            stmt.execute("PRAGMA cache_size = -" + CACHE_SIZE_KIB);
+            stmt.execute("PRAGMA mmap_size = " + MMAP_SIZE_BYTES);
+            stmt.execute("PRAGMA temp_store = MEMORY");
         }
     }
-}
\ No newline at end of file
+}
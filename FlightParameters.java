@@ -1,16 +1,28 @@
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 
 public class FlightParameters {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd, HH:mm");
+
     private double speed;        
     private double altitude;     
     private double wingArea;    
     private double requiredLift; 
+    private final long timestamp; // epoch millis when the search was made
 
    
     public FlightParameters(double speed, double altitude, double wingArea, double requiredLift) {
+        this(speed, altitude, wingArea, requiredLift, System.currentTimeMillis());
+    }
+
+    // For searches loaded back from history
+    public FlightParameters(double speed, double altitude, double wingArea, double requiredLift, long timestamp) {
         this.speed = speed;
         this.altitude = altitude;
         this.wingArea = wingArea;
         this.requiredLift = requiredLift;
+        this.timestamp = timestamp;
     }
 
    
@@ -30,19 +42,27 @@ public class FlightParameters {
         return requiredLift; 
     }
 
+    public long getTimestamp() {
+        return timestamp;
+    }
+
 
     public double calculateReynoldsNumber() {
-        double chord = Math.sqrt(wingArea); 
-        double kinematicViscosity = 1.5e-5; 
+        double chord = Math.sqrt(wingArea);
+        double kinematicViscosity = StandardAtmosphere.kinematicViscosity(altitude);
         return (speed * chord) / kinematicViscosity;
     }
 
     public double calculateRequiredCl() {
-        double airDensity = 1.225; 
+        double airDensity = StandardAtmosphere.density(altitude);
         double dynamicPressure = 0.5 * airDensity * speed * speed;
         return requiredLift / (dynamicPressure * wingArea);
     }
 
+    public double calculateMachNumber() {
+        return speed / StandardAtmosphere.speedOfSound(altitude);
+    }
+
     @Override
     public String toString() {
         return String.format("Speed: %.1f m/s, Alt: %.0f m, Wing Area: %.2f m², Lift: %.0f N, Re: %.2e",
@@ -51,6 +71,6 @@ public class FlightParameters {
     public String toDetailedString() {
         return String.format("Speed: %-6.1f | Altitude: %-6.1f | Wing Area: %-6.2f | Lift: %-8.0f | Reynolds: %-8.1fM | Date: %s",
             speed, altitude, wingArea, requiredLift, calculateReynoldsNumber() / 1000000.0,
-            java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("MMM dd, HH:mm")));
+            DATE_FORMAT.format(Instant.ofEpochMilli(timestamp).atZone(ZoneId.systemDefault())));
     }
 }
\ No newline at end of file
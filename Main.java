@@ -1,16 +1,22 @@
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.swing.*;
 
 public class Main {
+    private static final Logger LOGGER = Logger.getLogger(Main.class.getName());
+
     private JFrame frame;
     private javax.swing.JTable table;
-    private javax.swing.table.DefaultTableModel tableModel;
-    private List<Airfoil> airfoils;
+    private AirfoilTableModel tableModel;
     private AirfoilService service;
     private AuthenticationService authService;
+    private SearchHistoryService historyService;
     private User currentUser;
     private JLabel userLabel;
+    private JLabel statusLabel;
     
     // Buttons that require login
     private JButton refreshBtn;
@@ -20,23 +26,27 @@ public class Main {
     private JButton recommendBtn;
 
     public Main() {
-        try {
-            service = new AirfoilService();
-            airfoils = service.getAllAirfoils();
-        } catch (Throwable t) {
-            System.err.println("Warning: could not initialize AirfoilService: " + t.getMessage());
-            service = null;
-            airfoils = java.util.Collections.emptyList();
-        }
+        // Constructing the services is cheap: the database is opened on first use
+        this(createService("AirfoilService", AirfoilService::new),
+             createService("AuthenticationService", AuthenticationService::new),
+             createService("SearchHistoryService", SearchHistoryService::new));
+    }
+
+    // Used by the startup benchmark to time the window against services it also drives
+    Main(AirfoilService service, AuthenticationService authService, SearchHistoryService historyService) {
+        this.service = service;
+        this.authService = authService;
+        this.historyService = historyService;
+        SwingUtilities.invokeLater(this::createAndShow);
+    }
 
+    private static <T> T createService(String name, java.util.function.Supplier<T> factory) {
         try {
-            authService = new AuthenticationService();
+            return factory.get();
         } catch (Throwable t) {
-            System.err.println("Warning: could not initialize AuthenticationService: " + t.getMessage());
-            authService = null;
+            LOGGER.log(Level.WARNING, "Could not initialize " + name, t);
+            return null;
         }
-
-        SwingUtilities.invokeLater(this::createAndShow);
     }
 
     private void createAndShow() {
@@ -55,6 +65,9 @@ public class Main {
 
         // Top-right user panel
         JPanel topRight = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 8));
+        statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.DARK_GRAY);
+        topRight.add(statusLabel);
         userLabel = new JLabel("Not logged in");
         userLabel.setForeground(Color.RED);
         topRight.add(userLabel);
@@ -85,21 +98,8 @@ public class Main {
         c.add(topRight, BorderLayout.EAST);
 
         // Center table with checkboxes to select airfoils for comparison
-        String[] cols = new String[] { "Select", "Airfoil" };
-        tableModel = new javax.swing.table.DefaultTableModel(cols, 0) {
-            @Override
-            public Class<?> getColumnClass(int columnIndex) {
-                if (columnIndex == 0) return Boolean.class;
-                return String.class;
-            }
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return column == 0 && currentUser != null; // only checkbox editable when logged in
-            }
-        };
-        for (Airfoil a : airfoils) {
-            tableModel.addRow(new Object[] { Boolean.FALSE, formatListEntry(a) });
-        }
+        // Rows are read from the catalog snapshot on paint; the catalog loads in the background
+        tableModel = new AirfoilTableModel(() -> currentUser != null); // only checkbox editable when logged in
         table = new javax.swing.JTable(tableModel);
         table.setRowHeight(24);
         table.getColumnModel().getColumn(0).setMaxWidth(60);
@@ -168,6 +168,9 @@ public class Main {
         c.add(buttons, BorderLayout.SOUTH);
 
         frame.setVisible(true);
+        StartupTimer.mark(StartupTimer.FIRST_FRAME);
+        // Warm the catalog (first DB connection included) while the user looks at the window
+        loadCatalog(false);
     }
 
     private void updateButtonStates() {
@@ -183,29 +186,54 @@ public class Main {
         tableModel.fireTableDataChanged();
     }
 
-    private String formatListEntry(Airfoil a) {
-        return String.format("%s  |  Type: %s  |  MaxCl: %.3f  |  MinCd: %.4f  |  Thk: %.1f%%", 
-            a.getName(), a.getApplicationType(), a.getMaxCl(), a.getMinCd(), a.getThickness());
-    }
-
     private void refreshList() {
         if (currentUser == null) {
             showLoginRequiredMessage();
             return;
         }
-        
-        try {
-            airfoils = service.getAllAirfoils();
-            // refresh table rows
-            tableModel.setRowCount(0);
-            for (Airfoil a : airfoils) tableModel.addRow(new Object[] { Boolean.FALSE, formatListEntry(a) });
-        } catch (RuntimeException ex) {
-            String type = (ex instanceof IllegalStateException) ? "System Error" : "Error";
-            JOptionPane.showMessageDialog(frame,
-                type + " during refresh: " + ex.getMessage(),
-                type,
-                JOptionPane.ERROR_MESSAGE);
+        loadCatalog(true);
+    }
+
+    /**
+     * Fetch the catalog on a background thread and swap it into the table in
+     * one event. With {@code reload} the database is queried again, otherwise
+     * the service's current snapshot is used.
+     */
+    private void loadCatalog(boolean reload) {
+        if (service == null) {
+            return;
         }
+        statusLabel.setText(reload ? "Refreshing airfoils..." : "Loading airfoils...");
+        refreshBtn.setEnabled(false);
+        new SwingWorker<AirfoilCatalog, Void>() {
+            @Override
+            protected AirfoilCatalog doInBackground() {
+                AirfoilCatalog catalog = reload ? service.refreshCatalog() : service.getCatalog();
+                catalog.reynoldsIndex(); // build it here rather than in the first recommendation
+                return catalog;
+            }
+
+            @Override
+            protected void done() {
+                statusLabel.setText(" ");
+                refreshBtn.setEnabled(currentUser != null);
+                try {
+                    AirfoilCatalog catalog = get();
+                    tableModel.setCatalog(catalog);
+                    statusLabel.setText(catalog.size() + " airfoils");
+                    StartupTimer.mark(StartupTimer.CATALOG_READY);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (java.util.concurrent.ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    String type = (cause instanceof IllegalStateException) ? "System Error" : "Error";
+                    JOptionPane.showMessageDialog(frame,
+                        type + " during refresh: " + cause.getMessage(),
+                        type,
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
     }
 
     private void compareSelected() {
@@ -215,20 +243,16 @@ public class Main {
         }
         
         // Collect checked rows from the table
-        java.util.List<Integer> selected = new java.util.ArrayList<>();
-        for (int r = 0; r < tableModel.getRowCount(); r++) {
-            Object v = tableModel.getValueAt(r, 0);
-            if (v instanceof Boolean && ((Boolean) v)) selected.add(r);
-        }
+        int[] selected = tableModel.getSelectedRows();
 
-        if (selected.isEmpty()) {
+        if (selected.length == 0) {
             JOptionPane.showMessageDialog(frame, "Please select at least one airfoil (check the box).", "No Selection", JOptionPane.INFORMATION_MESSAGE);
             return;
         }
 
         // If exactly one selected, show detailed info about that airfoil
-        if (selected.size() == 1) {
-            Airfoil a = airfoils.get(selected.get(0));
+        if (selected.length == 1) {
+            Airfoil a = tableModel.getAirfoil(selected[0]);
             StringBuilder sb = new StringBuilder();
             sb.append("Airfoil: ").append(a.getName()).append("\n\n");
             sb.append(a.getDetails()).append("\n\n");
@@ -245,74 +269,17 @@ public class Main {
             return;
         }
 
-        // If more than two selected, pick the first two but inform the user
-        if (selected.size() > 2) {
-            JOptionPane.showMessageDialog(frame, "More than two selected — comparing the first two selected items.", "Notice", JOptionPane.INFORMATION_MESSAGE);
+        // Two or more selected: rank all of them side by side
+        List<Airfoil> airfoils = new ArrayList<>(selected.length);
+        for (int row : selected) {
+            airfoils.add(tableModel.getAirfoil(row));
         }
-
-        // Compare first two selections
-        Airfoil a1 = airfoils.get(selected.get(0));
-        Airfoil a2 = airfoils.get(selected.get(1));
-        String desc = buildComparisonDescription(a1, a2);
-        JTextArea area = new JTextArea(desc);
+        JTextArea area = new JTextArea(AirfoilComparison.of(airfoils).toTable());
         area.setEditable(false);
-        area.setLineWrap(true);
-        area.setWrapStyleWord(true);
         area.setFont(new Font("Monospaced", Font.PLAIN, 12));
         JScrollPane sp = new JScrollPane(area);
-        sp.setPreferredSize(new Dimension(700, 300));
-        JOptionPane.showMessageDialog(frame, sp, "Airfoil Comparison", JOptionPane.INFORMATION_MESSAGE);
-    }
-
-    private String buildComparisonDescription(Airfoil a, Airfoil b) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("Comparison: %s  vs  %s\n\n", a.getName(), b.getName()));
-
-        appendParam(sb, "Max Lift Coefficient (Cl)", a.getMaxCl(), b.getMaxCl(), true);
-        appendParam(sb, "Min Drag Coefficient (Cd)", a.getMinCd(), b.getMinCd(), false);
-        appendParam(sb, "Thickness (%)", a.getThickness(), b.getThickness(), false);
-        appendParamRaw(sb, "Reynolds Min", a.getReynoldsMin(), b.getReynoldsMin());
-        appendParamRaw(sb, "Reynolds Max", a.getReynoldsMax(), b.getReynoldsMax());
-
-        sb.append("\nApplication Types:\n");
-        sb.append(String.format(" - %s: %s\n", a.getName(), a.getApplicationType()));
-        sb.append(String.format(" - %s: %s\n", b.getName(), b.getApplicationType()));
-
-        sb.append("\nSummary:\n");
-        // Simple decision heuristics
-        double ldA = safeDiv(a.getMaxCl(), a.getMinCd());
-        double ldB = safeDiv(b.getMaxCl(), b.getMinCd());
-        if (ldA > ldB) sb.append(String.format(" - %s has better L/D (%.1f vs %.1f) -> more efficient.\n", a.getName(), ldA, ldB));
-        else if (ldA < ldB) sb.append(String.format(" - %s has better L/D (%.1f vs %.1f) -> more efficient.\n", b.getName(), ldB, ldA));
-        else sb.append(" - Both have similar L/D efficiency.\n");
-
-        if (a.getMaxCl() > b.getMaxCl()) sb.append(String.format(" - %s provides more maximum lift (Cl %.3f vs %.3f).\n", a.getName(), a.getMaxCl(), b.getMaxCl()));
-        else if (a.getMaxCl() < b.getMaxCl()) sb.append(String.format(" - %s provides more maximum lift (Cl %.3f vs %.3f).\n", b.getName(), b.getMaxCl(), a.getMaxCl()));
-
-        if (a.getThickness() > b.getThickness()) sb.append(String.format(" - %s is thicker (%.1f%% vs %.1f%%) -> likely stronger but slightly higher drag.\n", a.getName(), a.getThickness(), b.getThickness()));
-        else if (a.getThickness() < b.getThickness()) sb.append(String.format(" - %s is thicker (%.1f%% vs %.1f%%) -> likely stronger but slightly higher drag.\n", b.getName(), b.getThickness(), a.getThickness()));
-
-        return sb.toString();
-    }
-
-    private void appendParam(StringBuilder sb, String label, double v1, double v2, boolean higherIsBetter) {
-        double diff = v1 - v2;
-        double pct = (v2 != 0) ? (diff / Math.abs(v2) * 100.0) : 0.0;
-        sb.append(String.format("%s:\n  - %s: %.4f\n  - %s: %.4f\n  - Difference: %+.4f (%.1f%%) -> %s\n\n",
-            label, 
-            "A", v1,
-            "B", v2,
-            diff, pct,
-            (higherIsBetter ? (diff>0?"A better":"B better") : (diff>0?"A worse":"B worse"))));
-    }
-
-    private void appendParamRaw(StringBuilder sb, String label, double v1, double v2) {
-        sb.append(String.format("%s:\n  - A: %.1e\n  - B: %.1e\n\n", label, v1, v2));
-    }
-
-    private double safeDiv(double a, double b) {
-        if (b == 0) return a == 0 ? 0 : Double.POSITIVE_INFINITY;
-        return a / b;
+        sp.setPreferredSize(new Dimension(900, 400));
+        JOptionPane.showMessageDialog(frame, sp, "Airfoil Comparison (" + airfoils.size() + " airfoils)", JOptionPane.INFORMATION_MESSAGE);
     }
 
     private void recommendForFlight() {
@@ -334,36 +301,66 @@ public class Main {
 
         int res = JOptionPane.showConfirmDialog(frame, p, "Flight parameters", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
         if (res != JOptionPane.OK_OPTION) return;
+        FlightParameters params;
         try {
-            double speed = Double.parseDouble(speedF.getText().trim());
-            double alt = Double.parseDouble(altF.getText().trim());
-            double area = Double.parseDouble(areaF.getText().trim());
-            double lift = Double.parseDouble(liftF.getText().trim());
-
-            FlightParameters params = new FlightParameters(speed, alt, area, lift);
-            List<RecommendationResult> recs = service.recommendAirfoils(params);
-            if (recs == null || recs.isEmpty()) {
-                JOptionPane.showMessageDialog(frame, "No recommendations available.", "No results", JOptionPane.INFORMATION_MESSAGE);
-                return;
-            }
-            StringBuilder sb = new StringBuilder();
-            for (int i=0;i<Math.min(5,recs.size());i++) {
-                RecommendationResult r = recs.get(i);
-                sb.append(String.format("%d. %s  (score: %.2f) - %s\n", i+1, r.getAirfoil().getName(), r.getScore(), r.getReason()));
-            }
-            JTextArea areaOut = new JTextArea(sb.toString());
-            areaOut.setEditable(false);
-            areaOut.setFont(new Font("Monospaced", Font.PLAIN, 12));
-            JOptionPane.showMessageDialog(frame, new JScrollPane(areaOut), "Recommendations", JOptionPane.INFORMATION_MESSAGE);
-            // Save search to user history if logged in
-            if (currentUser != null) {
-                currentUser.addSearchHistory(params);
-            }
+            double speed = positiveNumber("Speed", speedF);
+            double alt = finiteNumber("Altitude", altF);
+            double area = positiveNumber("Wing area", areaF);
+            double lift = positiveNumber("Required lift", liftF);
+            params = new FlightParameters(speed, alt, area, lift);
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(frame, "Please enter valid numeric values.", "Input error", JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(frame, "Error while recommending: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(frame, ex.getMessage(), "Input error", JOptionPane.ERROR_MESSAGE);
+            return;
         }
+
+        // Scoring and the history insert run off the EDT
+        User user = currentUser;
+        statusLabel.setText("Scoring airfoils...");
+        recommendBtn.setEnabled(false);
+        new SwingWorker<List<RecommendationResult>, Void>() {
+            @Override
+            protected List<RecommendationResult> doInBackground() {
+                List<RecommendationResult> recs = service.recommendTopK(params, 5);
+                // Save search to user history if logged in
+                if (user != null && historyService != null) {
+                    historyService.record(user, params);
+                }
+                return recs;
+            }
+
+            @Override
+            protected void done() {
+                statusLabel.setText(" ");
+                recommendBtn.setEnabled(currentUser != null);
+                List<RecommendationResult> recs;
+                try {
+                    recs = get();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (java.util.concurrent.ExecutionException ex) {
+                    JOptionPane.showMessageDialog(frame, "Error while recommending: " + ex.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                StartupTimer.mark(StartupTimer.FIRST_RECOMMENDATION);
+                if (recs == null || recs.isEmpty()) {
+                    JOptionPane.showMessageDialog(frame, "No recommendations available.", "No results", JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+                StringBuilder sb = new StringBuilder();
+                for (int i=0;i<Math.min(5,recs.size());i++) {
+                    RecommendationResult r = recs.get(i);
+                    sb.append(String.format("%d. %s  (score: %.2f) - %s\n", i+1, r.getAirfoil().getName(), r.getScore(), r.getReason()));
+                }
+                JTextArea areaOut = new JTextArea(sb.toString());
+                areaOut.setEditable(false);
+                areaOut.setFont(new Font("Monospaced", Font.PLAIN, 12));
+                JOptionPane.showMessageDialog(frame, new JScrollPane(areaOut), "Recommendations", JOptionPane.INFORMATION_MESSAGE);
+            }
+        }.execute();
     }
 
     // ----- Authentication dialogs -----
@@ -381,9 +378,18 @@ public class Main {
         if (res != JOptionPane.OK_OPTION) return;
         String username = userF.getText().trim();
         String password = new String(passF.getPassword());
-        try {
-            User u = authService.login(username, password);
-            if (u == null) {
+        // Password hashing is slow on purpose, so verify off the EDT and come back with invokeLater
+        userLabel.setText("Logging in...");
+        userLabel.setForeground(Color.DARK_GRAY);
+        frame.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        authService.loginAsync(username, password).whenComplete((u, error) -> SwingUtilities.invokeLater(() -> {
+            frame.setCursor(Cursor.getDefaultCursor());
+            if (error != null) {
+                resetUserLabel();
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                JOptionPane.showMessageDialog(frame, "Error during login: " + cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            } else if (u == null) {
+                resetUserLabel();
                 JOptionPane.showMessageDialog(frame, "Invalid username or password.", "Login failed", JOptionPane.ERROR_MESSAGE);
             } else {
                 currentUser = u;
@@ -392,8 +398,16 @@ public class Main {
                 updateButtonStates();
                 JOptionPane.showMessageDialog(frame, "Login successful. Welcome, " + u.getUsername() + "!", "Logged in", JOptionPane.INFORMATION_MESSAGE);
             }
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(frame, "Error during login: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }));
+    }
+
+    private void resetUserLabel() {
+        if (currentUser != null) {
+            userLabel.setText("Logged in: " + currentUser.getUsername());
+            userLabel.setForeground(Color.GREEN);
+        } else {
+            userLabel.setText("Not logged in");
+            userLabel.setForeground(Color.RED);
         }
     }
 
@@ -414,21 +428,38 @@ public class Main {
         String username = userF.getText().trim();
         String password = new String(passF.getPassword());
         String email = emailF.getText().trim();
-        try {
-            String validation = authService.validateSignup(username, password, email);
-            if (validation != null) {
-                JOptionPane.showMessageDialog(frame, "Invalid signup: " + validation, "Sign up error", JOptionPane.ERROR_MESSAGE);
-                return;
+        // The duplicate checks hit the database and hashing the password is slow on purpose: run both off the EDT
+        frame.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() {
+                String validation = authService.validateSignup(username, password, email);
+                if (validation != null) {
+                    return "Invalid signup: " + validation;
+                }
+                return authService.signUp(username, password, email) ? null : "Sign up failed. Try a different username or email.";
             }
-            boolean ok = authService.signUp(username, password, email);
-            if (ok) {
-                JOptionPane.showMessageDialog(frame, "Sign up successful. You may now log in.", "Success", JOptionPane.INFORMATION_MESSAGE);
-            } else {
-                JOptionPane.showMessageDialog(frame, "Sign up failed. Try a different username or email.", "Failed", JOptionPane.ERROR_MESSAGE);
+
+            @Override
+            protected void done() {
+                frame.setCursor(Cursor.getDefaultCursor());
+                String error;
+                try {
+                    error = get();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (java.util.concurrent.ExecutionException ex) {
+                    JOptionPane.showMessageDialog(frame, "Error during sign up: " + ex.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                if (error == null) {
+                    JOptionPane.showMessageDialog(frame, "Sign up successful. You may now log in.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(frame, error, "Sign up error", JOptionPane.ERROR_MESSAGE);
+                }
             }
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(frame, "Error during sign up: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }.execute();
     }
 
     private void viewSearchHistory() {
@@ -436,20 +467,57 @@ public class Main {
             showLoginRequiredMessage();
             return;
         }
-        java.util.Stack<FlightParameters> hist = currentUser.getSearchHistory();
-        if (hist == null || hist.isEmpty()) {
-            JOptionPane.showMessageDialog(frame, "No search history.", "History", JOptionPane.INFORMATION_MESSAGE);
+        if (historyService == null) {
+            JOptionPane.showMessageDialog(frame, "Search history is not available (service not initialized).", "Not available", JOptionPane.WARNING_MESSAGE);
             return;
         }
-        StringBuilder sb = new StringBuilder();
-        int i = 1;
-        for (FlightParameters fp : hist) {
-            sb.append(String.format("%d) %s\n", i++, fp.toString()));
-        }
-        JTextArea area = new JTextArea(sb.toString());
-        area.setEditable(false);
-        area.setFont(new Font("Monospaced", Font.PLAIN, 12));
-        JOptionPane.showMessageDialog(frame, new JScrollPane(area), "Search History", JOptionPane.INFORMATION_MESSAGE);
+        showHistoryPage(currentUser, Long.MAX_VALUE, 0);
+    }
+
+    // One page at a time, newest first, fetched off the EDT; "Older" continues below the last id shown
+    private void showHistoryPage(User user, long cursor, int shownBefore) {
+        int pageSize = 20;
+        historyBtn.setEnabled(false);
+        new SwingWorker<List<SearchHistoryEntry>, Void>() {
+            @Override
+            protected List<SearchHistoryEntry> doInBackground() {
+                return historyService.before(user, cursor, pageSize);
+            }
+
+            @Override
+            protected void done() {
+                historyBtn.setEnabled(currentUser != null);
+                List<SearchHistoryEntry> page;
+                try {
+                    page = get();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (java.util.concurrent.ExecutionException ex) {
+                    JOptionPane.showMessageDialog(frame, "Error reading history: " + ex.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                if (page.isEmpty()) {
+                    String msg = shownBefore == 0 ? "No search history." : "No older searches.";
+                    JOptionPane.showMessageDialog(frame, msg, "History", JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+                int shown = shownBefore;
+                StringBuilder sb = new StringBuilder();
+                for (SearchHistoryEntry entry : page) {
+                    sb.append(String.format("%d) %s\n", ++shown, entry.getParams().toDetailedString()));
+                }
+                JTextArea area = new JTextArea(sb.toString());
+                area.setEditable(false);
+                area.setFont(new Font("Monospaced", Font.PLAIN, 12));
+                Object[] options = page.size() == pageSize ? new Object[] { "Older", "Close" } : new Object[] { "Close" };
+                int choice = JOptionPane.showOptionDialog(frame, new JScrollPane(area), "Search History",
+                    JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, options, options[0]);
+                if (options.length > 1 && choice == 0) {
+                    showHistoryPage(user, page.get(page.size() - 1).getId(), shown);
+                }
+            }
+        }.execute();
     }
 
     private void showAddAirfoilDialog() {
@@ -475,6 +543,57 @@ public class Main {
         p.add(new JLabel("Application Type:")); p.add(typeF);
         p.add(new JLabel("Thickness (%):")); p.add(thicknessF);
 
+        // Optionally fill the values from a coordinate file via the panel solver
+        List<AirfoilPolar> computedPolars = new ArrayList<>();
+        JButton computeBtn = new JButton("From coordinates...");
+        JLabel computeStatus = new JLabel();
+        computeBtn.addActionListener(ev -> {
+            JFileChooser chooser = new JFileChooser();
+            if (chooser.showOpenDialog(p) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            java.nio.file.Path file = chooser.getSelectedFile().toPath();
+            computeBtn.setEnabled(false);
+            computeStatus.setText("Computing polars...");
+            new SwingWorker<Airfoil, Void>() {
+                private List<AirfoilPolar> polars;
+
+                @Override
+                protected Airfoil doInBackground() throws Exception {
+                    AirfoilCoordinates coordinates = AirfoilCoordinates.parse(file);
+                    polars = PanelSolver.computePolars(coordinates, PanelSolver.DEFAULT_REYNOLDS);
+                    return AirfoilImporter.toAirfoil(coordinates.getName(), typeF.getText().trim(), coordinates, polars);
+                }
+
+                @Override
+                protected void done() {
+                    computeBtn.setEnabled(true);
+                    Airfoil a;
+                    try {
+                        a = get();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (java.util.concurrent.ExecutionException ex) {
+                        computeStatus.setText("Could not compute: " + ex.getCause().getMessage());
+                        return;
+                    }
+                    if (nameF.getText().trim().isEmpty()) {
+                        nameF.setText(a.getName());
+                    }
+                    maxClF.setText(String.format(java.util.Locale.ROOT, "%.3f", a.getMaxCl()));
+                    minCdF.setText(String.format(java.util.Locale.ROOT, "%.5f", a.getMinCd()));
+                    reynoldsMinF.setText(String.format(java.util.Locale.ROOT, "%.0f", a.getReynoldsMin()));
+                    reynoldsMaxF.setText(String.format(java.util.Locale.ROOT, "%.0f", a.getReynoldsMax()));
+                    thicknessF.setText(String.format(java.util.Locale.ROOT, "%.3f", a.getThickness()));
+                    computedPolars.clear();
+                    computedPolars.addAll(polars);
+                    computeStatus.setText(polars.size() + " polars computed");
+                }
+            }.execute();
+        });
+        p.add(computeBtn); p.add(computeStatus);
+
         int result = JOptionPane.showConfirmDialog(frame, p, "Add New Airfoil", 
             JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
             
@@ -483,25 +602,54 @@ public class Main {
                 String name = nameF.getText().trim();
                 if (name.isEmpty()) throw new IllegalArgumentException("Name cannot be empty");
                 
-                double maxCl = Double.parseDouble(maxClF.getText().trim());
-                double minCd = Double.parseDouble(minCdF.getText().trim());
-                double reynoldsMin = Double.parseDouble(reynoldsMinF.getText().trim());
-                double reynoldsMax = Double.parseDouble(reynoldsMaxF.getText().trim());
+                double maxCl = positiveNumber("Max lift coefficient", maxClF);
+                double minCd = positiveNumber("Min drag coefficient", minCdF);
+                double reynoldsMin = positiveNumber("Reynolds min", reynoldsMinF);
+                double reynoldsMax = positiveNumber("Reynolds max", reynoldsMaxF);
+                if (reynoldsMin > reynoldsMax) {
+                    throw new IllegalArgumentException("Reynolds min cannot exceed Reynolds max");
+                }
                 String type = typeF.getText().trim();
                 if (type.isEmpty()) throw new IllegalArgumentException("Type cannot be empty");
-                double thickness = Double.parseDouble(thicknessF.getText().trim());
+                double thickness = positiveNumber("Thickness", thicknessF);
 
                 Airfoil newAirfoil = new Airfoil(name, maxCl, minCd, reynoldsMin, 
                     reynoldsMax, type, thickness);
-                    
-                if (service.addAirfoil(newAirfoil)) {
-                    JOptionPane.showMessageDialog(frame, "Airfoil added successfully!", 
-                        "Success", JOptionPane.INFORMATION_MESSAGE);
-                    refreshList();
-                } else {
-                    JOptionPane.showMessageDialog(frame, "An airfoil with this name already exists.", 
-                        "Error", JOptionPane.ERROR_MESSAGE);
-                }
+
+                // The duplicate check and insert hit the database, so run them off the EDT
+                addBtn.setEnabled(false);
+                new SwingWorker<Boolean, Void>() {
+                    @Override
+                    protected Boolean doInBackground() {
+                        return service.addAirfoil(newAirfoil, List.copyOf(computedPolars));
+                    }
+
+                    @Override
+                    protected void done() {
+                        addBtn.setEnabled(currentUser != null);
+                        boolean added;
+                        try {
+                            added = get();
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (java.util.concurrent.ExecutionException ex) {
+                            JOptionPane.showMessageDialog(frame, "Error adding airfoil: " + ex.getCause().getMessage(),
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                            return;
+                        }
+                        if (added) {
+                            // addAirfoil already published a snapshot with the new row
+                            tableModel.setCatalog(service.getCatalog());
+                            statusLabel.setText(tableModel.getRowCount() + " airfoils");
+                            JOptionPane.showMessageDialog(frame, "Airfoil added successfully!", 
+                                "Success", JOptionPane.INFORMATION_MESSAGE);
+                        } else {
+                            JOptionPane.showMessageDialog(frame, "An airfoil with this name already exists.", 
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                        }
+                    }
+                }.execute();
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(frame, "Please enter valid numbers for all numeric fields.", 
                     "Input Error", JOptionPane.ERROR_MESSAGE);
@@ -512,6 +660,22 @@ public class Main {
         }
     }
 
+    /**
+     * Parses a field that must hold a finite number. Double.parseDouble accepts
+     * "NaN" and "Infinity", which would otherwise reach the service unchecked.
+     */
+    private static double finiteNumber(String label, JTextField field) {
+        double value = Double.parseDouble(field.getText().trim());
+        if (!Double.isFinite(value)) throw new IllegalArgumentException(label + " must be a finite number");
+        return value;
+    }
+
+    private static double positiveNumber(String label, JTextField field) {
+        double value = finiteNumber(label, field);
+        if (value <= 0) throw new IllegalArgumentException(label + " must be positive");
+        return value;
+    }
+
     private void showEducationalGuide() {
         String eduText = MenuHandler.getEducationalInfoText();
         JTextArea area = new JTextArea(eduText);
@@ -539,6 +703,7 @@ public class Main {
     }
 
     public static void main(String[] args) {
+        AsyncLogHandler.install();
         // Create and show UI on the Event Dispatch Thread
         SwingUtilities.invokeLater(Main::new);
     }
@@ -1,6 +1,6 @@
 import java.util.*;
 public class MenuHandler {
-    public static void findBestAirfoil(Scanner scanner, AirfoilService airfoilService, User currentUser) {
+    public static void findBestAirfoil(Scanner scanner, AirfoilService airfoilService, SearchHistoryService historyService, User currentUser) {
         System.out.println("\n=== AIRFOIL RECOMMENDATION ===");
         
         System.out.print("Enter flight speed (m/s): ");
@@ -16,10 +16,10 @@ public class MenuHandler {
         double requiredLift = InputHelper.getValidLift(scanner);
 
         FlightParameters params = new FlightParameters(speed, altitude, wingArea, requiredLift);
-        currentUser.addSearchHistory(params);
+        historyService.record(currentUser, params);
 
     
-List<RecommendationResult> results = airfoilService.recommendAirfoils(params);
+List<RecommendationResult> results = airfoilService.recommendTopK(params, 5);
 
 
 String resultBorder = "╔══════════════════════════════════════════════════════════════════════════════════════════════════════╗";
@@ -58,13 +58,75 @@ for (int i = 0; i < 5 && i < results.size(); i++) {
 System.out.println(resultFooter);
     }
 
-    public static void browseAirfoils(AirfoilService airfoilService) {
-    List<Airfoil> airfoils = airfoilService.getAllAirfoils();
-    if (airfoils.isEmpty()) {
-        System.out.println("No airfoils available.");
-        return;
+    public static void browseAirfoils(Scanner scanner, AirfoilService airfoilService) {
+    // Filters are answered from the catalog indexes, one page at a time
+    System.out.print("Application type (Enter for all): ");
+    String type = scanner.nextLine().trim();
+    double minCl = readOptionalDouble(scanner, "Minimum max Cl (Enter for any): ");
+    double minThickness = readOptionalDouble(scanner, "Minimum thickness ratio (Enter for any): ");
+    double maxThickness = readOptionalDouble(scanner, "Maximum thickness ratio (Enter for any): ");
+    System.out.println("Sort by: 1. Name  2. Max Cl  3. Min Cd  4. L/D  5. Thickness");
+    System.out.print("Choose option (Enter for name): ");
+    String sortChoice = scanner.nextLine().trim();
+    AirfoilQuery.Sort sort;
+    switch (sortChoice) {
+        case "2": sort = AirfoilQuery.Sort.MAX_CL; break;
+        case "3": sort = AirfoilQuery.Sort.MIN_CD; break;
+        case "4": sort = AirfoilQuery.Sort.LIFT_TO_DRAG; break;
+        case "5": sort = AirfoilQuery.Sort.THICKNESS; break;
+        default: sort = AirfoilQuery.Sort.NAME;
+    }
+    // Best first for the performance columns; low drag is best ascending
+    boolean descending = sort == AirfoilQuery.Sort.MAX_CL || sort == AirfoilQuery.Sort.LIFT_TO_DRAG;
+
+    int pageSize = 20;
+    AirfoilQuery.Cursor cursor = null;
+    int shown = 0;
+    while (true) {
+        AirfoilPage page = airfoilService.queryAirfoils(AirfoilQuery.all()
+            .applicationType(type)
+            .maxCl(Double.isNaN(minCl) ? Double.NEGATIVE_INFINITY : minCl, Double.POSITIVE_INFINITY)
+            .thickness(Double.isNaN(minThickness) ? Double.NEGATIVE_INFINITY : minThickness,
+                       Double.isNaN(maxThickness) ? Double.POSITIVE_INFINITY : maxThickness)
+            .sortBy(sort, descending)
+            .limit(pageSize)
+            .after(cursor));
+        if (page.getTotalMatches() == 0) {
+            System.out.println("No airfoils match these filters.");
+            return;
+        }
+        if (cursor == null) {
+            System.out.println("\n" + page.getTotalMatches() + " matching airfoils");
+        }
+        printAirfoilTable(page.getAirfoils());
+        shown += page.getAirfoils().size();
+        if (!page.hasMore()) {
+            return;
+        }
+        System.out.printf("Showing %d of %d. Press Enter for more, or q to stop: ", shown, page.getTotalMatches());
+        if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+            return;
+        }
+        cursor = page.getNextCursor();
     }
+}
 
+private static double readOptionalDouble(Scanner scanner, String prompt) {
+    while (true) {
+        System.out.print(prompt);
+        String line = scanner.nextLine().trim();
+        if (line.isEmpty()) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(line);
+        } catch (NumberFormatException e) {
+            System.out.println("Please enter a number, or press Enter to skip.");
+        }
+    }
+}
+
+private static void printAirfoilTable(List<Airfoil> airfoils) {
     String tableBorder = "╔═══════════════╦════════╦════════╦══════════════╦══════════════╦══════════════════════╦═══════════╗";
     String headerBorder = "╠═══════════════╬════════╬════════╬══════════════╬══════════════╬══════════════════════╬═══════════╣";
     String footerBorder = "╚═══════════════╩════════╩════════╩══════════════╩══════════════╩══════════════════════╩═══════════╝";
@@ -96,144 +158,45 @@ System.out.println(resultFooter);
             i + 1, a.getName(), a.getThickness(), a.getApplicationType());
     }
 
-    System.out.print("\nSelect first airfoil (number): ");
-    int idx1 = InputHelper.getIntInput(scanner) - 1;
-    System.out.print("Select second airfoil (number): ");
-    int idx2 = InputHelper.getIntInput(scanner) - 1;
-
-    if (idx1 < 0 || idx1 >= airfoils.size() || idx2 < 0 || idx2 >= airfoils.size() || idx1 == idx2) {
-        System.out.println("Invalid selection.");
+    System.out.print("\nSelect airfoils to compare (numbers separated by commas, or 'all'): ");
+    List<Airfoil> selected = parseSelection(scanner.nextLine().trim(), airfoils);
+    if (selected == null || selected.size() < 2) {
+        System.out.println("Invalid selection. Choose at least two different airfoils.");
         return;
     }
 
-    Airfoil a1 = airfoils.get(idx1);
-    Airfoil a2 = airfoils.get(idx2);
-
-    // Enhanced comparison display
-    displayEnhancedComparison(a1, a2);
-    displayPerformanceAnalysis(a1, a2);
-    displayRecommendations(a1, a2);
-}
-
-private static void displayEnhancedComparison(Airfoil a1, Airfoil a2) {
-    String border = "╠══════════════════════════════════════════════════════════════════════════════════════════════════════╣";
-    String headerBorder = "╔══════════════════════════════════════════════════════════════════════════════════════════════════════╗";
-    String footerBorder = "╚══════════════════════════════════════════════════════════════════════════════════════════════════════╝";
-    
-    System.out.println("\n" + headerBorder);
-    System.out.println("║                                  AIRFOIL COMPARISON - DETAILED ANALYSIS                              ║");
-    System.out.println(border);
-    
-    // Parameter comparison table
-    int rowWidth = headerBorder.length();
-    String headerRow = String.format("║ %-22s ║ %-18s ║ %-18s ║ %-24s ║", "PARAMETER", a1.getName(), a2.getName(), "DIFFERENCE");
-    // pad to match border width
-    if (headerRow.length() < rowWidth) {
-        int pad = rowWidth - headerRow.length();
-        headerRow = headerRow.substring(0, headerRow.length() - 2) + "".repeat(pad) + " ║";
-    }
-    System.out.println(headerRow);
-    System.out.println(border);
-
-    compareParameter("Max Lift Coefficient", a1.getMaxCl(), a2.getMaxCl(), "Cl");
-    compareParameter("Min Drag Coefficient", a1.getMinCd(), a2.getMinCd(), "Cd");
-    compareParameter("Thickness (%)", a1.getThickness(), a2.getThickness(), "%");
-    compareParameter("Reynolds Min", a1.getReynoldsMin(), a2.getReynoldsMin(), "Re");
-    compareParameter("Reynolds Max", a1.getReynoldsMax(), a2.getReynoldsMax(), "Re");
-
-    System.out.println(border);
-    String appRow = String.format("║ %-22s ║ %-18s ║ %-18s ║ %-24s ║", "APPLICATION TYPE", a1.getApplicationType(), a2.getApplicationType(), "");
-    if (appRow.length() < rowWidth) {
-        int pad = rowWidth - appRow.length();
-        appRow = appRow.substring(0, appRow.length() - 2) + "".repeat(pad) + " ║";
+    AirfoilComparison comparison = AirfoilComparison.of(selected);
+    System.out.println("\nAIRFOIL COMPARISON - " + comparison.size() + " airfoils (rank #1 = best, % from best)");
+    System.out.println(comparison.toTable());
+    if (selected.size() == 2) {
+        displayRecommendations(selected.get(0), selected.get(1));
     }
-    System.out.println(appRow);
-    System.out.println(footerBorder);
 }
 
-private static void compareParameter(String paramName, double value1, double value2, String unit) {
-    double diff = value1 - value2;
-    double percentDiff = value2 != 0 ? (diff / value2) * 100 : 0;
-
-    // Format values depending on the unit/type
-    String v1Str;
-    String v2Str;
-    String diffDescription;
-    
-    if ("Re".equals(unit)) {
-        v1Str = String.format("%.1fM", value1 / 1_000_000.0);
-        v2Str = String.format("%.1fM", value2 / 1_000_000.0);
-        diffDescription = String.format("%s by %.1fM Re (%+.1f%%)", 
-            diff > 0 ? "Higher" : "Lower",
-            Math.abs(diff / 1_000_000.0),
-            percentDiff);
-    } else if ("%".equals(unit)) {
-        v1Str = String.format("%.2f", value1);
-        v2Str = String.format("%.2f", value2);
-        diffDescription = String.format("%s by %.2f%% absolute", 
-            diff > 0 ? "Thicker" : "Thinner",
-            Math.abs(diff));
-    } else if ("Cl".equals(unit)) {
-        v1Str = String.format("%.4f", value1);
-        v2Str = String.format("%.4f", value2);
-        diffDescription = String.format("%s lift by %.4f (%+.1f%%)", 
-            diff > 0 ? "Better" : "Lower",
-            Math.abs(diff),
-            percentDiff);
-    } else if ("Cd".equals(unit)) {
-        v1Str = String.format("%.4f", value1);
-        v2Str = String.format("%.4f", value2);
-        diffDescription = String.format("%s drag by %.4f (%+.1f%%)", 
-            diff > 0 ? "Higher" : "Lower",
-            Math.abs(diff),
-            percentDiff);
-    } else {
-        v1Str = String.format("%.3f", value1);
-        v2Str = String.format("%.3f", value2);
-        diffDescription = String.format("%+.3f (%+.1f%%)", diff, percentDiff);
+// "1,4,7" or "all" -> distinct airfoils in the given order; null on bad input
+private static List<Airfoil> parseSelection(String input, List<Airfoil> airfoils) {
+    if (input.equalsIgnoreCase("all")) {
+        return airfoils;
     }
-
-    int target = 94;
-    String row = String.format("║ %-22s ║ %18s ║ %18s ║ %-24s ║", 
-        paramName, v1Str, v2Str, diffDescription);
-    
-    if (row.length() < target) {
-        int pad = target - row.length();
-        row = row.substring(0, row.length() - 2) + " ".repeat(pad) + "║";
+    List<Airfoil> selected = new ArrayList<>();
+    boolean[] seen = new boolean[airfoils.size()];
+    for (String part : input.split("[,\\s]+")) {
+        if (part.isEmpty()) continue;
+        int idx;
+        try {
+            idx = Integer.parseInt(part) - 1;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (idx < 0 || idx >= airfoils.size()) {
+            return null;
+        }
+        if (!seen[idx]) {
+            seen[idx] = true;
+            selected.add(airfoils.get(idx));
+        }
     }
-    System.out.println(row);
-}
-
-private static void displayPerformanceAnalysis(Airfoil a1, Airfoil a2) {
-    System.out.println("\n╔══════════════════════════════════════════════════════════════════════════════════════════════════════╗");
-    System.out.println("║                                  PERFORMANCE ANALYSIS                                                ║");
-    System.out.println("╚══════════════════════════════════════════════════════════════════════════════════════════════════════╝");
-    
-    // Lift-to-drag ratio comparison (simplified)
-    double ldr1 = a1.getMaxCl() / (a1.getMinCd() == 0 ? 0.001 : a1.getMinCd());
-    double ldr2 = a2.getMaxCl() / (a2.getMinCd() == 0 ? 0.001 : a2.getMinCd());
-    
-    System.out.printf("Lift-to-Drag Ratio (Max Cl/Min Cd):\n");
-    System.out.printf("  %s: %.2f\n", a1.getName(), ldr1);
-    System.out.printf("  %s: %.2f\n", a2.getName(), ldr2);
-    
-    if (ldr1 > ldr2) {
-        System.out.printf("  → %s has %.1f%% better lift-to-drag ratio\n", 
-            a1.getName(), ((ldr1 - ldr2) / ldr2) * 100);
-    } else if (ldr2 > ldr1) {
-        System.out.printf("  → %s has %.1f%% better lift-to-drag ratio\n", 
-            a2.getName(), ((ldr2 - ldr1) / ldr1) * 100);
-    }
-    
-    // Reynolds number range comparison
-    double range1 = a1.getReynoldsMax() - a1.getReynoldsMin();
-    double range2 = a2.getReynoldsMax() - a2.getReynoldsMin();
-    
-    System.out.printf("\nOperational Range (Reynolds numbers):\n");
-    System.out.printf("  %s: %.1f - %.1f million (Range: %.1fM)\n", 
-        a1.getName(), a1.getReynoldsMin(), a1.getReynoldsMax(), range1);
-    System.out.printf("  %s: %.1f - %.1f million (Range: %.1fM)\n", 
-        a2.getName(), a2.getReynoldsMin(), a2.getReynoldsMax(), range2);
+    return selected;
 }
 
 private static void displayRecommendations(Airfoil a1, Airfoil a2) {
@@ -275,65 +238,81 @@ private static void displayRecommendations(Airfoil a1, Airfoil a2) {
 }
 
 // Enhanced search history with filtering options
-public static void viewSearchHistory(User currentUser, Scanner scanner) {
+public static void viewSearchHistory(User currentUser, SearchHistoryService historyService, Scanner scanner) {
     System.out.println("\n╔══════════════════════════════════════════════════════════════════════════════════════════════════════╗");
     System.out.println("║                                  SEARCH HISTORY                                                   ║");
     System.out.println("╚══════════════════════════════════════════════════════════════════════════════════════════════════════╝");
     
-    Stack<FlightParameters> history = currentUser.getSearchHistory();
+    int pageSize = SearchHistoryService.DEFAULT_PAGE_SIZE;
+    List<SearchHistoryEntry> recent = historyService.recent(currentUser, pageSize);
 
-    if (history.isEmpty()) {
+    if (recent.isEmpty()) {
         System.out.println("No search history yet.");
         return;
     }
 
-    System.out.println("Total searches: " + history.size());
     System.out.println("\nOptions:");
-    System.out.println("1. View all searches (chronological)");
-    System.out.println("2. View recent searches (last 10)");
-    System.out.println("3. Search by aircraft type");
+    System.out.println("1. Browse all searches (most recent first, " + pageSize + " per page)");
+    System.out.println("2. View recent searches (last " + pageSize + ")");
     System.out.print("Choose option: ");
     
     int option = InputHelper.getIntInput(scanner);
     
-    List<FlightParameters> tempList = new ArrayList<>(history);
-    Collections.reverse(tempList); // Most recent first
-    
     switch (option) {
         case 1:
-            displayAllSearches(tempList);
+            browseSearches(currentUser, historyService, recent, scanner);
             break;
         case 2:
-            displayRecentSearches(tempList);
+            displayRecentSearches(recent);
             break;
         default:
-            displayRecentSearches(tempList);
+            displayRecentSearches(recent);
     }
 }
 
-private static void displayAllSearches(List<FlightParameters> searches) {
+// Keyset paging: each page continues below the id of the last entry shown
+private static void browseSearches(User currentUser, SearchHistoryService historyService,
+                                   List<SearchHistoryEntry> firstPage, Scanner scanner) {
     System.out.println("\nAll Searches (most recent first):");
     String border = "──────────────────────────────────────────────────────────────────────────────────────────────────────";
     System.out.println(border);
-    
-    for (int i = 0; i < searches.size(); i++) {
-        FlightParameters params = searches.get(i);
-        System.out.printf("%2d. %s\n", i + 1, params.toDetailedString());
-        if (i < searches.size() - 1) System.out.println("─".repeat(90));
+
+    int pageSize = SearchHistoryService.DEFAULT_PAGE_SIZE;
+    List<SearchHistoryEntry> page = firstPage;
+    int shown = 0;
+    while (!page.isEmpty()) {
+        for (SearchHistoryEntry entry : page) {
+            System.out.printf("%2d. %s\n", ++shown, entry.getParams().toDetailedString());
+        }
+        if (page.size() < pageSize) {
+            break;
+        }
+        System.out.print("Press Enter for older searches, or q to stop: ");
+        if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+            break;
+        }
+        page = historyService.before(currentUser, page.get(page.size() - 1).getId(), pageSize);
     }
+    System.out.println(border);
 }
 
-private static void displayRecentSearches(List<FlightParameters> searches) {
-    int limit = Math.min(10, searches.size());
-    System.out.printf("\nLast %d Searches:\n", limit);
+private static void displayRecentSearches(List<SearchHistoryEntry> searches) {
+    System.out.printf("\nLast %d Searches:\n", searches.size());
     
-    for (int i = 0; i < limit; i++) {
-        System.out.printf("%2d. %s\n", i + 1, searches.get(i).toDetailedString());
+    for (int i = 0; i < searches.size(); i++) {
+        System.out.printf("%2d. %s\n", i + 1, searches.get(i).getParams().toDetailedString());
     }
 }
 
 public static void addNewAirfoil(Scanner scanner, AirfoilService airfoilService) {
     System.out.println("\n=== ADD NEW AIRFOIL ===");
+    System.out.print("Enter a .dat coordinate file to compute values from (or press Enter to type them): ");
+    String coordinateFile = scanner.nextLine().trim();
+    if (!coordinateFile.isEmpty()) {
+        addAirfoilFromCoordinates(scanner, airfoilService, coordinateFile);
+        return;
+    }
+
     System.out.print("Enter airfoil name: ");
     String name = scanner.nextLine().trim();
 
@@ -367,6 +346,72 @@ public static void addNewAirfoil(Scanner scanner, AirfoilService airfoilService)
     }
 }
 
+// Polars from the panel solver; name and application type from the user
+private static void addAirfoilFromCoordinates(Scanner scanner, AirfoilService airfoilService, String coordinateFile) {
+    AirfoilCoordinates coordinates;
+    try {
+        coordinates = AirfoilCoordinates.parse(java.nio.file.Paths.get(coordinateFile));
+    } catch (java.io.IOException | RuntimeException e) {
+        System.out.println(" Could not read coordinates: " + e.getMessage());
+        return;
+    }
+    System.out.println(" Computing polars...");
+    List<AirfoilPolar> polars = PanelSolver.computePolars(coordinates, PanelSolver.DEFAULT_REYNOLDS);
+
+    System.out.print("Enter airfoil name" + (coordinates.getName().isEmpty() ? "" : " [" + coordinates.getName() + "]") + ": ");
+    String name = scanner.nextLine().trim();
+    if (name.isEmpty()) {
+        name = coordinates.getName();
+    }
+    System.out.print("Enter application type (e.g., Low Speed, High Speed): ");
+    String applicationType = scanner.nextLine().trim();
+
+    Airfoil newAirfoil = AirfoilImporter.toAirfoil(name, applicationType, coordinates, polars);
+    System.out.printf(" Max Cl %.3f, min Cd %.5f, Re %.0f - %.0f, thickness %.1f%%\n",
+        newAirfoil.getMaxCl(), newAirfoil.getMinCd(), newAirfoil.getReynoldsMin(), newAirfoil.getReynoldsMax(),
+        newAirfoil.getThickness() * 100);
+    if (name.isEmpty()) {
+        System.out.println(" An airfoil name is required.");
+    } else if (airfoilService.addAirfoil(newAirfoil, polars)) {
+        System.out.println(" Airfoil added successfully!");
+    } else {
+        System.out.println(" Airfoil with this name already exists in the database!");
+    }
+}
+
+public static void importAirfoils(Scanner scanner, AirfoilService airfoilService) {
+    System.out.println("\n=== IMPORT AIRFOILS ===");
+    System.out.print("Enter folder with .dat coordinate and .pol polar files: ");
+    String folder = scanner.nextLine().trim();
+
+    System.out.print("Enter application type for imported airfoils: ");
+    String applicationType = scanner.nextLine().trim();
+    if (applicationType.isEmpty()) {
+        applicationType = "Imported";
+    }
+
+    System.out.print("Compute polars for .dat files without .pol files (about 0.1 s each)? (y/N): ");
+    boolean computeMissingPolars = scanner.nextLine().trim().toLowerCase().startsWith("y");
+
+    try {
+        AirfoilImporter.Summary summary = airfoilService.importAirfoils(java.nio.file.Paths.get(folder), applicationType,
+            computeMissingPolars, new AirfoilImporter.Listener() {
+                @Override
+                public void fileFailed(java.nio.file.Path file, String error) {
+                    System.out.printf(" ✗ %s: %s\n", file.getFileName(), error);
+                }
+
+                @Override
+                public void batchWritten(int processed, int total) {
+                    System.out.printf(" ... %d / %d files processed\n", processed, total);
+                }
+            });
+        System.out.println(" " + summary);
+    } catch (java.io.IOException | java.nio.file.InvalidPathException e) {
+        System.out.println(" Could not read folder: " + e.getMessage());
+    }
+}
+
     public static void showEducationalInfo() {
         String eduBorder = "╔═══════════════════════════════════════════════════════════╗";
         String eduHeader = "║              AIRFOIL BASICS - EDUCATIONAL GUIDE           ║";
@@ -0,0 +1,319 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide registry of counters, latency timers and gauges.
+ *
+ * Counters are {@link LongAdder}s. Timers are log-linear histograms (16
+ * buckets per power of two, so percentiles are within about 6%) striped by
+ * thread, so recording is a bucket computation plus one uncontended atomic
+ * increment and stays cheap enough to leave on. Gauges are read only when
+ * a snapshot is taken.
+ *
+ * Everything is published as attributes of the JMX bean
+ * {@code airfoil:type=Metrics} (disable with -Dairfoil.metrics.jmx=false)
+ * and as plain text through {@link #dump()}.
+ */
+public final class Metrics {
+    private static final Logger LOGGER = Logger.getLogger(Metrics.class.getName());
+    private static final String OBJECT_NAME = "airfoil:type=Metrics";
+
+    private static final Map<String, Counter> COUNTERS = new ConcurrentSkipListMap<>();
+    private static final Map<String, Timer> TIMERS = new ConcurrentSkipListMap<>();
+    private static final Map<String, DoubleSupplier> GAUGES = new ConcurrentSkipListMap<>();
+
+    static {
+        if (Boolean.parseBoolean(System.getProperty("airfoil.metrics.jmx", "true"))) {
+            registerMBean();
+        }
+    }
+
+    private Metrics() {
+    }
+
+    // ----- Registration -----
+    /** The counter with this name, created on first use. */
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, n -> new Counter());
+    }
+
+    /** The timer with this name, created on first use. */
+    public static Timer timer(String name) {
+        return TIMERS.computeIfAbsent(name, n -> new Timer());
+    }
+
+    /** Register (or replace) a gauge; the supplier is called on every snapshot. */
+    public static void gauge(String name, DoubleSupplier value) {
+        GAUGES.put(name, value);
+    }
+
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        public void increment() { value.increment(); }
+        public void add(long delta) { value.add(delta); }
+        public long get() { return value.sum(); }
+    }
+
+    /**
+     * Latency histogram in nanoseconds.
+     */
+    public static final class Timer {
+        private static final int SUB_BITS = 4;
+        private static final int SUB_COUNT = 1 << SUB_BITS;
+        private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_COUNT;
+        private static final int SUM = BUCKETS;     // slot holding the total of recorded values
+        private static final int MAX = BUCKETS + 1; // slot holding the largest recorded value
+        private static final int STRIPES = Integer.highestOneBit(
+            Math.max(1, Math.min(16, Runtime.getRuntime().availableProcessors())) * 2 - 1);
+
+        private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+
+        private Timer() {
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new AtomicLongArray(BUCKETS + 2);
+            }
+        }
+
+        /** Record the time since {@code startNanos} (a {@link System#nanoTime()} value). */
+        public void recordSince(long startNanos) {
+            record(System.nanoTime() - startNanos);
+        }
+
+        public void record(long nanos) {
+            long v = Math.max(0, nanos);
+            long id = Thread.currentThread().threadId();
+            AtomicLongArray stripe = stripes[(int) (id ^ (id >>> 16)) & (STRIPES - 1)];
+            stripe.getAndIncrement(index(v));
+            stripe.getAndAdd(SUM, v);
+            long max = stripe.get(MAX);
+            while (v > max && !stripe.compareAndSet(MAX, max, v)) {
+                max = stripe.get(MAX);
+            }
+        }
+
+        public Snapshot snapshot() {
+            long[] counts = new long[BUCKETS];
+            long sum = 0, max = 0;
+            for (AtomicLongArray stripe : stripes) {
+                for (int i = 0; i < BUCKETS; i++) {
+                    counts[i] += stripe.get(i);
+                }
+                sum += stripe.get(SUM);
+                max = Math.max(max, stripe.get(MAX));
+            }
+            return new Snapshot(counts, sum, max);
+        }
+
+        private static int index(long v) {
+            if (v < SUB_COUNT) {
+                return (int) v;
+            }
+            int exp = 63 - Long.numberOfLeadingZeros(v);
+            return (exp - SUB_BITS + 1) * SUB_COUNT + ((int) (v >>> (exp - SUB_BITS)) & (SUB_COUNT - 1));
+        }
+
+        private static long upperBound(int index) {
+            if (index < SUB_COUNT) {
+                return index;
+            }
+            int exp = index / SUB_COUNT + SUB_BITS - 1;
+            return ((long) (SUB_COUNT + index % SUB_COUNT + 1) << (exp - SUB_BITS)) - 1;
+        }
+    }
+
+    /**
+     * Point-in-time view of a {@link Timer}; percentiles are bucket upper bounds.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long sum, long max) {
+            this.counts = counts;
+            long total = 0;
+            for (long c : counts) {
+                total += c;
+            }
+            this.count = total;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() { return count; }
+        public long getMaxNanos() { return max; }
+        public double getMeanNanos() { return count == 0 ? 0 : (double) sum / count; }
+
+        public long percentileNanos(double percent) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(count * percent / 100.0);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(Timer.upperBound(i), max);
+                }
+            }
+            return max;
+        }
+    }
+
+    // ----- Export -----
+    /**
+     * All metrics as text, one per line, sorted by name. Times are in microseconds:
+     * <pre>
+     * counter auth.login.success 42
+     * gauge db.pool.active 1
+     * timer recommend count=120 mean=85.3 p50=79.0 p90=120.0 p99=310.0 max=1204.5
+     * </pre>
+     */
+    public static String dump() {
+        StringBuilder sb = new StringBuilder(256);
+        for (Map.Entry<String, Counter> e : COUNTERS.entrySet()) {
+            sb.append("counter ").append(e.getKey()).append(' ').append(e.getValue().get()).append('\n');
+        }
+        for (Map.Entry<String, DoubleSupplier> e : GAUGES.entrySet()) {
+            sb.append("gauge ").append(e.getKey()).append(' ').append(readGauge(e.getValue())).append('\n');
+        }
+        for (Map.Entry<String, Timer> e : TIMERS.entrySet()) {
+            Snapshot s = e.getValue().snapshot();
+            sb.append("timer ").append(e.getKey())
+              .append(" count=").append(s.getCount())
+              .append(" mean=").append(micros(s.getMeanNanos()))
+              .append(" p50=").append(micros(s.percentileNanos(50)))
+              .append(" p90=").append(micros(s.percentileNanos(90)))
+              .append(" p99=").append(micros(s.percentileNanos(99)))
+              .append(" max=").append(micros(s.getMaxNanos()))
+              .append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static double readGauge(DoubleSupplier gauge) {
+        try {
+            return gauge.getAsDouble();
+        } catch (RuntimeException e) {
+            return Double.NaN; // e.g. the measured component was closed
+        }
+    }
+
+    private static String micros(double nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000.0);
+    }
+
+    private static void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsMBean(), name);
+            }
+        } catch (Exception | LinkageError e) {
+            LOGGER.log(Level.WARNING, "Could not register metrics with JMX", e);
+        }
+    }
+
+    /**
+     * Read-only JMX view: counters and gauges by name, timers as
+     * {@code <name>.count}, {@code .meanMicros}, {@code .p50Micros},
+     * {@code .p99Micros} and {@code .maxMicros}. The attribute list follows
+     * the registry, so metrics created later show up too.
+     */
+    private static final class MetricsMBean implements DynamicMBean {
+        private static final String[] TIMER_FIELDS = { "count", "meanMicros", "p50Micros", "p99Micros", "maxMicros" };
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Counter counter = COUNTERS.get(attribute);
+            if (counter != null) {
+                return counter.get();
+            }
+            DoubleSupplier gauge = GAUGES.get(attribute);
+            if (gauge != null) {
+                return readGauge(gauge);
+            }
+            int dot = attribute.lastIndexOf('.');
+            Timer timer = dot < 0 ? null : TIMERS.get(attribute.substring(0, dot));
+            if (timer != null) {
+                Snapshot s = timer.snapshot();
+                switch (attribute.substring(dot + 1)) {
+                    case "count": return s.getCount();
+                    case "meanMicros": return s.getMeanNanos() / 1_000.0;
+                    case "p50Micros": return s.percentileNanos(50) / 1_000.0;
+                    case "p99Micros": return s.percentileNanos(99) / 1_000.0;
+                    case "maxMicros": return s.getMaxNanos() / 1_000.0;
+                    default: break;
+                }
+            }
+            throw new AttributeNotFoundException(attribute);
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                try {
+                    list.add(new Attribute(attribute, getAttribute(attribute)));
+                } catch (AttributeNotFoundException e) {
+                    // JMX convention: unknown names are left out
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> attributes = new ArrayList<>();
+            for (String name : COUNTERS.keySet()) {
+                attributes.add(new MBeanAttributeInfo(name, "long", "Counter", true, false, false));
+            }
+            for (String name : GAUGES.keySet()) {
+                attributes.add(new MBeanAttributeInfo(name, "double", "Gauge", true, false, false));
+            }
+            for (String name : TIMERS.keySet()) {
+                for (String field : TIMER_FIELDS) {
+                    String type = field.equals("count") ? "long" : "double";
+                    attributes.add(new MBeanAttributeInfo(name + "." + field, type, "Timer", true, false, false));
+                }
+            }
+            return new MBeanInfo(Metrics.class.getName(), "Airfoil service metrics",
+                attributes.toArray(new MBeanAttributeInfo[0]), null, null, null);
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) {
+            throw new UnsupportedOperationException(actionName);
+        }
+    }
+}
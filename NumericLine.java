@@ -0,0 +1,38 @@
+/**
+ * Allocation-light parsing of whitespace or comma separated numeric lines,
+ * used by the coordinate and polar file readers.
+ */
+final class NumericLine {
+    private NumericLine() {
+    }
+
+    /**
+     * Parse up to {@code out.length} numbers from {@code line}.
+     *
+     * @return how many numbers were read, or -1 if a token is not a number
+     */
+    static int parse(String line, double[] out) {
+        int count = 0;
+        int i = 0;
+        int n = line.length();
+        while (i < n && count < out.length) {
+            char c = line.charAt(i);
+            if (c == ' ' || c == '\t' || c == ',' || c == '\r') {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < n) {
+                c = line.charAt(i);
+                if (c == ' ' || c == '\t' || c == ',' || c == '\r') break;
+                i++;
+            }
+            try {
+                out[count++] = Double.parseDouble(line.substring(start, i));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        return count;
+    }
+}
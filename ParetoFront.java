@@ -0,0 +1,219 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Airfoils of a catalog snapshot that no other airfoil beats on every
+ * objective at once: max Cl (higher), min Cd (lower) and optionally
+ * thickness (higher), optionally limited to airfoils rated for a given
+ * Reynolds number.
+ *
+ * The front is found by ordering on max Cl and sweeping a staircase of the
+ * best (Cd, thickness) trade-offs seen so far, which is O(n log n) for two
+ * or three objectives. Adding an airfoil to the catalog
+ * can only remove points from the front or join it, so
+ * {@link #withAirfoil} updates an existing front in O(front size) instead of
+ * recomputing it.
+ */
+public final class ParetoFront {
+
+    public enum Objectives {
+        /** Max Cl and min Cd. */
+        LIFT_DRAG,
+        /** Max Cl, min Cd and thickness. */
+        LIFT_DRAG_THICKNESS
+    }
+
+    private final long catalogVersion;
+    private final Objectives objectives;
+    private final double reynolds; // NaN = whole catalog
+    private final List<Airfoil> airfoils; // by max Cl, highest first
+
+    private ParetoFront(long catalogVersion, Objectives objectives, double reynolds, List<Airfoil> airfoils) {
+        this.catalogVersion = catalogVersion;
+        this.objectives = objectives;
+        this.reynolds = reynolds;
+        this.airfoils = Collections.unmodifiableList(airfoils);
+    }
+
+    /**
+     * Compute the front of a snapshot.
+     *
+     * @param reynolds only airfoils whose Reynolds range contains this value, or NaN for all
+     */
+    public static ParetoFront compute(AirfoilCatalog catalog, Objectives objectives, double reynolds) {
+        if (objectives == null) {
+            throw new IllegalArgumentException("Objectives cannot be null");
+        }
+        if (!Double.isNaN(reynolds) && !(reynolds > 0)) {
+            throw new IllegalArgumentException("Reynolds number must be positive");
+        }
+
+        int[] rows;
+        if (Double.isNaN(reynolds)) {
+            rows = new int[catalog.size()];
+            for (int i = 0; i < rows.length; i++) rows[i] = i;
+        } else {
+            rows = catalog.reynoldsIndex().query(reynolds, 0.0);
+        }
+
+        // All objectives as "higher is better"
+        double[] cl = catalog.maxClColumn();
+        double[] cd = catalog.minCdColumn();
+        double[] thk = catalog.thicknessColumn();
+        boolean useThickness = objectives == Objectives.LIFT_DRAG_THICKNESS;
+
+        // Best first: max Cl descending via the snapshot's cached sort index (a primitive
+        // sort of ranks); the sweep orders ties on max Cl itself
+        AirfoilQuery.SortIndex index = catalog.sortIndex(AirfoilQuery.Sort.MAX_CL);
+        int[] order = new int[rows.length];
+        int count = 0;
+        for (int i : rows) {
+            if (Double.isNaN(cl[i]) || Double.isNaN(cd[i]) || (useThickness && Double.isNaN(thk[i]))) {
+                continue; // incomparable
+            }
+            order[count++] = index.rank[i];
+        }
+        Arrays.sort(order, 0, count);
+        for (int lo = 0, hi = count - 1; lo < hi; lo++, hi--) {
+            int tmp = order[lo];
+            order[lo] = order[hi];
+            order[hi] = tmp;
+        }
+        for (int k = 0; k < count; k++) {
+            order[k] = index.order[order[k]];
+        }
+        List<Airfoil> front = new ArrayList<>();
+        for (int i : sweep(cl, cd, thk, useThickness, order, count)) {
+            front.add(catalog.get(i));
+        }
+        return new ParetoFront(catalog.getVersion(), objectives, reynolds, front);
+    }
+
+    /**
+     * Rows of the non-dominated points among {@code order[0, count)}, which
+     * must hold rows with no NaN objective sorted by max Cl, highest first.
+     * Ties on max Cl are reordered in place. The front comes back in sweep order.
+     */
+    static int[] sweep(double[] cl, double[] cd, double[] thk, boolean useThickness, int[] order, int count) {
+        // Ties on max Cl ordered by Cd and thickness, so equal points end up next to each other
+        Comparator<Integer> best = (p, q) -> {
+            int cmp = Double.compare(cd[p], cd[q]);
+            if (cmp == 0 && useThickness) cmp = Double.compare(thk[q], thk[p]);
+            return cmp;
+        };
+        for (int from = 0; from < count; ) {
+            int to = from + 1;
+            while (to < count && cl[order[to]] == cl[order[from]]) {
+                to++;
+            }
+            if (to - from > 1) {
+                Integer[] run = new Integer[to - from];
+                for (int k = 0; k < run.length; k++) run[k] = order[from + k];
+                Arrays.sort(run, best);
+                for (int k = 0; k < run.length; k++) order[from + k] = run[k];
+            }
+            from = to;
+        }
+
+        // Staircase of kept points: -Cd -> best thickness among points with at least that -Cd.
+        // Keys ascend while values descend, so the ceiling entry answers "max thickness with
+        // -Cd' >= -Cd". Every point already swept has a max Cl at least as high.
+        TreeMap<Double, Double> stairs = new TreeMap<>();
+        int[] front = new int[count];
+        int size = 0;
+        int g = 0;
+        while (g < count) {
+            int i = order[g];
+            int end = g + 1;
+            while (end < count && cl[order[end]] == cl[i] && cd[order[end]] == cd[i]
+                   && (!useThickness || thk[order[end]] == thk[i])) {
+                end++; // identical points do not dominate each other
+            }
+            double b = -cd[i];
+            double c = useThickness ? thk[i] : 0.0;
+            Map.Entry<Double, Double> above = stairs.ceilingEntry(b);
+            if (above == null || above.getValue() < c) {
+                for (int k = g; k < end; k++) {
+                    front[size++] = order[k];
+                }
+                Map.Entry<Double, Double> below = stairs.floorEntry(b);
+                while (below != null && below.getValue() <= c) {
+                    stairs.remove(below.getKey());
+                    below = stairs.lowerEntry(below.getKey());
+                }
+                stairs.put(b, c);
+            }
+            g = end;
+        }
+        return Arrays.copyOf(front, size);
+    }
+
+    /** Column form of {@link #dominates(Airfoil, Airfoil)} for rows {@code a} and {@code b}. */
+    static boolean dominates(double[] cl, double[] cd, double[] thk, boolean useThickness, int a, int b) {
+        if (cl[a] < cl[b] || cd[a] > cd[b] || (useThickness && thk[a] < thk[b])) {
+            return false;
+        }
+        return cl[a] > cl[b] || cd[a] < cd[b] || (useThickness && thk[a] > thk[b]);
+    }
+
+    /**
+     * The front after {@code added} joined the catalog as snapshot {@code newVersion}.
+     */
+    public ParetoFront withAirfoil(Airfoil added, long newVersion) {
+        if (!Double.isNaN(reynolds) && !(added.getReynoldsMin() <= reynolds && reynolds <= added.getReynoldsMax())) {
+            return new ParetoFront(newVersion, objectives, reynolds, airfoils);
+        }
+        if (Double.isNaN(added.getMaxCl()) || Double.isNaN(added.getMinCd())
+            || (objectives == Objectives.LIFT_DRAG_THICKNESS && Double.isNaN(added.getThickness()))) {
+            return new ParetoFront(newVersion, objectives, reynolds, airfoils);
+        }
+        for (Airfoil member : airfoils) {
+            if (dominates(member, added)) {
+                return new ParetoFront(newVersion, objectives, reynolds, airfoils);
+            }
+        }
+        List<Airfoil> next = new ArrayList<>(airfoils.size() + 1);
+        boolean placed = false;
+        for (Airfoil member : airfoils) {
+            if (dominates(added, member)) {
+                continue;
+            }
+            if (!placed && added.getMaxCl() > member.getMaxCl()) {
+                next.add(added);
+                placed = true;
+            }
+            next.add(member);
+        }
+        if (!placed) {
+            next.add(added);
+        }
+        return new ParetoFront(newVersion, objectives, reynolds, next);
+    }
+
+    /** True if {@code a} is at least as good as {@code b} on every objective and better on one. */
+    public boolean dominates(Airfoil a, Airfoil b) {
+        boolean thickness = objectives == Objectives.LIFT_DRAG_THICKNESS;
+        if (a.getMaxCl() < b.getMaxCl() || a.getMinCd() > b.getMinCd()
+            || (thickness && a.getThickness() < b.getThickness())) {
+            return false;
+        }
+        return a.getMaxCl() > b.getMaxCl() || a.getMinCd() < b.getMinCd()
+            || (thickness && a.getThickness() > b.getThickness());
+    }
+
+    public long getCatalogVersion() { return catalogVersion; }
+    public Objectives getObjectives() { return objectives; }
+
+    /** Reynolds filter, or NaN if the whole catalog was considered. */
+    public double getReynolds() { return reynolds; }
+
+    /** Non-dominated airfoils, highest max Cl first. */
+    public List<Airfoil> getAirfoils() { return airfoils; }
+
+    public int size() { return airfoils.size(); }
+}
@@ -0,0 +1,147 @@
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.spec.KeySpec;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Salted PBKDF2-HMAC-SHA256 password hashing.
+ *
+ * Hashes are stored as {@code pbkdf2-sha256$<iterations>$<salt>$<hash>} with
+ * Base64 salt and hash, so rows written with an older cost setting still
+ * verify and can be upgraded later ({@link #needsRehash}). Rows that are not
+ * in this format are legacy plaintext passwords.
+ *
+ * The iteration count can be set with -Dairfoil.password.iterations=N;
+ * {@code bench/PasswordHashBenchmark} shows what each setting costs per login.
+ */
+public class PasswordHasher {
+    public static final int DEFAULT_ITERATIONS = 310_000;
+    public static final int DEFAULT_SALT_BYTES = 16;
+    public static final int DEFAULT_KEY_BYTES = 32;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final int MIN_ITERATIONS = 1_000;
+
+    private final int iterations;
+    private final int saltBytes;
+    private final int keyBytes;
+    private final SecureRandom random = new SecureRandom();
+    private final SecretKeySpec sessionKey;
+
+    public PasswordHasher() {
+        this(Integer.getInteger("airfoil.password.iterations", DEFAULT_ITERATIONS), DEFAULT_SALT_BYTES, DEFAULT_KEY_BYTES);
+    }
+
+    public PasswordHasher(int iterations, int saltBytes, int keyBytes) {
+        if (iterations < MIN_ITERATIONS) {
+            throw new IllegalArgumentException("At least " + MIN_ITERATIONS + " iterations are required");
+        }
+        if (saltBytes < 8 || keyBytes < 16) {
+            throw new IllegalArgumentException("Salt must be at least 8 bytes and key at least 16 bytes");
+        }
+        this.iterations = iterations;
+        this.saltBytes = saltBytes;
+        this.keyBytes = keyBytes;
+        byte[] key = new byte[32];
+        random.nextBytes(key);
+        this.sessionKey = new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    public int getIterations() { return iterations; }
+    public int getSaltBytes() { return saltBytes; }
+    public int getKeyBytes() { return keyBytes; }
+
+    /** Hash a password with a fresh random salt at the current cost setting. */
+    public String hash(String password) {
+        byte[] salt = new byte[saltBytes];
+        random.nextBytes(salt);
+        byte[] derived = derive(password, salt, iterations, keyBytes * 8);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(derived);
+    }
+
+    /**
+     * Check a password against a stored value, which may be a hash in any
+     * supported cost setting or a legacy plaintext password.
+     */
+    public boolean verify(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        if (!isHashed(stored)) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            if (storedIterations < 1 || expected.length == 0) {
+                return false;
+            }
+            return MessageDigest.isEqual(expected, derive(password, salt, storedIterations, expected.length * 8));
+        } catch (IllegalArgumentException e) {
+            return false; // malformed row
+        }
+    }
+
+    /** True for plaintext rows and for hashes made with a different cost setting. */
+    public boolean needsRehash(String stored) {
+        if (!isHashed(stored)) {
+            return true;
+        }
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return true;
+        }
+        try {
+            return Integer.parseInt(parts[1]) != iterations
+                || Base64.getDecoder().decode(parts[2]).length != saltBytes
+                || Base64.getDecoder().decode(parts[3]).length != keyBytes;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    public static boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(PREFIX + "$");
+    }
+
+    /**
+     * Fast keyed digest of a password, used to recheck logins served from the
+     * in-memory user cache without paying for the KDF again. The key is random
+     * per process, so these values are never comparable across runs or stored.
+     */
+    public byte[] sessionDigest(String password) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(sessionKey);
+            return mac.doFinal(password == null ? new byte[0] : password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations, int keyBits) {
+        char[] chars = password.toCharArray();
+        KeySpec spec = new PBEKeySpec(chars, salt, iterations, keyBits);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        } finally {
+            ((PBEKeySpec) spec).clearPassword();
+            java.util.Arrays.fill(chars, '\0');
+        }
+    }
+}
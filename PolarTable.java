@@ -0,0 +1,262 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * All polars of one airfoil in flat primitive arrays, with lookups
+ * interpolated between the stored Reynolds numbers.
+ *
+ * The raw rows (alpha, Cl, Cd, Cm) of every polar are concatenated in
+ * Reynolds order. For drag lookups each polar's attached branch (the rising
+ * part of the lift curve up to max Cl) is also resampled once onto an evenly
+ * spaced Cl grid, so {@link #cd(double, double)} is two grid reads per
+ * bracketing polar plus a blend in log Re: no search over the raw rows and
+ * no allocation.
+ *
+ * Instances are immutable and safe to share between threads.
+ */
+public final class PolarTable {
+    /** Table for an airfoil without polars; every lookup returns NaN. */
+    public static final PolarTable EMPTY = new PolarTable(new ArrayList<>());
+
+    private static final int GRID = 32; // Cl samples per polar
+
+    private final double[] reynolds;
+    private final double[] logReynolds;
+    private final int[] start;          // raw rows of polar r are start[r] .. start[r + 1] - 1
+    private final double[] alpha, cl, cd, cm;
+
+    // Attached branch of polar r resampled as Cd at clLow[r] + j * clStep[r], j < GRID
+    private final double[] clLow, clStep, clHigh, minCd;
+    private final double[] dragGrid;
+
+    private PolarTable(List<AirfoilPolar> polars) {
+        List<AirfoilPolar> sorted = new ArrayList<>(polars);
+        sorted.sort(Comparator.comparingDouble(AirfoilPolar::getReynolds));
+        int n = sorted.size();
+        reynolds = new double[n];
+        logReynolds = new double[n];
+        start = new int[n + 1];
+        for (int r = 0; r < n; r++) {
+            start[r + 1] = start[r] + sorted.get(r).size();
+        }
+        int rows = start[n];
+        alpha = new double[rows];
+        cl = new double[rows];
+        cd = new double[rows];
+        cm = new double[rows];
+        clLow = new double[n];
+        clStep = new double[n];
+        clHigh = new double[n];
+        minCd = new double[n];
+        dragGrid = new double[n * GRID];
+
+        for (int r = 0; r < n; r++) {
+            AirfoilPolar polar = sorted.get(r);
+            reynolds[r] = polar.getReynolds();
+            logReynolds[r] = Math.log(polar.getReynolds());
+            // Rows in alpha order, whatever order the file had them in
+            Integer[] order = new Integer[polar.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingDouble(polar::getAlpha));
+            double lowestCd = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < order.length; i++) {
+                int row = start[r] + i;
+                alpha[row] = polar.getAlpha(order[i]);
+                cl[row] = polar.getCl(order[i]);
+                cd[row] = polar.getCd(order[i]);
+                cm[row] = polar.getCm(order[i]);
+                lowestCd = Math.min(lowestCd, cd[row]);
+            }
+            minCd[r] = lowestCd;
+            resampleDrag(r);
+        }
+    }
+
+    /**
+     * Build a table from parsed polars; an empty list gives {@link #EMPTY}.
+     */
+    public static PolarTable of(List<AirfoilPolar> polars) {
+        return polars.isEmpty() ? EMPTY : new PolarTable(polars);
+    }
+
+    // Cd along the monotone stretch of the lift curve that ends at max Cl
+    private void resampleDrag(int r) {
+        int peak = start[r];
+        for (int i = start[r]; i < start[r + 1]; i++) {
+            if (cl[i] > cl[peak]) {
+                peak = i;
+            }
+        }
+        int first = peak;
+        while (first > start[r] && cl[first - 1] < cl[first]) {
+            first--;
+        }
+        clLow[r] = cl[first];
+        clHigh[r] = cl[peak];
+        clStep[r] = (clHigh[r] - clLow[r]) / (GRID - 1);
+        int base = r * GRID;
+        int segment = first;
+        for (int j = 0; j < GRID; j++) {
+            double target = (j == GRID - 1) ? clHigh[r] : clLow[r] + j * clStep[r];
+            while (segment + 1 < peak && cl[segment + 1] < target) {
+                segment++;
+            }
+            if (segment == peak) {
+                dragGrid[base + j] = cd[peak];
+            } else {
+                double f = (target - cl[segment]) / (cl[segment + 1] - cl[segment]);
+                f = Math.max(0.0, Math.min(1.0, f));
+                dragGrid[base + j] = cd[segment] + f * (cd[segment + 1] - cd[segment]);
+            }
+        }
+    }
+
+    public boolean isEmpty() { return reynolds.length == 0; }
+    public int polarCount() { return reynolds.length; }
+    public double getReynolds(int r) { return reynolds[r]; }
+    public double getReynoldsMin() { return isEmpty() ? Double.NaN : reynolds[0]; }
+    public double getReynoldsMax() { return isEmpty() ? Double.NaN : reynolds[reynolds.length - 1]; }
+
+    /** Raw rows of polar {@code r}, in alpha order. */
+    public AirfoilPolar polar(int r) {
+        return new AirfoilPolar(reynolds[r],
+            Arrays.copyOfRange(alpha, start[r], start[r + 1]), Arrays.copyOfRange(cl, start[r], start[r + 1]),
+            Arrays.copyOfRange(cd, start[r], start[r + 1]), Arrays.copyOfRange(cm, start[r], start[r + 1]));
+    }
+
+    // ----- Lookups -----
+    /**
+     * Section drag coefficient at lift coefficient {@code liftCoefficient}
+     * and Reynolds number {@code re}, interpolated linearly in Cl and in log
+     * Re between the two nearest polars. Outside the stored Reynolds range
+     * the nearest polar is used. Returns NaN when the section stalls before
+     * reaching that Cl, or when there are no polars.
+     */
+    public double cd(double liftCoefficient, double re) {
+        int n = reynolds.length;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        double lr = Math.log(re);
+        if (n == 1 || !(lr > logReynolds[0])) {
+            return liftCoefficient > clHigh[0] ? Double.NaN : cdAt(0, liftCoefficient);
+        }
+        if (lr >= logReynolds[n - 1]) {
+            return liftCoefficient > clHigh[n - 1] ? Double.NaN : cdAt(n - 1, liftCoefficient);
+        }
+        int r = lowerPolar(lr);
+        double t = (lr - logReynolds[r]) / (logReynolds[r + 1] - logReynolds[r]);
+        if (liftCoefficient > clHigh[r] + t * (clHigh[r + 1] - clHigh[r])) {
+            return Double.NaN;
+        }
+        double lower = cdAt(r, liftCoefficient);
+        return lower + t * (cdAt(r + 1, liftCoefficient) - lower);
+    }
+
+    /** Maximum Cl at {@code re}, interpolated in log Re; NaN without polars. */
+    public double maxCl(double re) {
+        return blend(clHigh, re);
+    }
+
+    /** Minimum Cd at {@code re}, interpolated in log Re; NaN without polars. */
+    public double minCd(double re) {
+        return blend(minCd, re);
+    }
+
+    /** Lift coefficient at angle of attack {@code alphaDeg} and {@code re}. */
+    public double cl(double alphaDeg, double re) {
+        return interpolateAlpha(cl, alphaDeg, re);
+    }
+
+    /** Pitching moment coefficient at angle of attack {@code alphaDeg} and {@code re}. */
+    public double cm(double alphaDeg, double re) {
+        return interpolateAlpha(cm, alphaDeg, re);
+    }
+
+    private double cdAt(int r, double liftCoefficient) {
+        int base = r * GRID;
+        if (!(clStep[r] > 0)) {
+            return dragGrid[base]; // single point, or a flat lift curve
+        }
+        double x = (liftCoefficient - clLow[r]) / clStep[r];
+        if (!(x > 0)) {
+            return dragGrid[base];
+        }
+        if (x >= GRID - 1) {
+            return dragGrid[base + GRID - 1];
+        }
+        int j = (int) x;
+        double f = x - j;
+        return dragGrid[base + j] + f * (dragGrid[base + j + 1] - dragGrid[base + j]);
+    }
+
+    // Index of the polar just below log Re lr; callers have checked lr is inside the range
+    private int lowerPolar(double lr) {
+        int r = 0;
+        while (logReynolds[r + 1] < lr) {
+            r++; // a handful of polars per airfoil, so a scan beats a binary search
+        }
+        return r;
+    }
+
+    private double blend(double[] perPolar, double re) {
+        int n = reynolds.length;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        double lr = Math.log(re);
+        if (n == 1 || !(lr > logReynolds[0])) {
+            return perPolar[0];
+        }
+        if (lr >= logReynolds[n - 1]) {
+            return perPolar[n - 1];
+        }
+        int r = lowerPolar(lr);
+        double t = (lr - logReynolds[r]) / (logReynolds[r + 1] - logReynolds[r]);
+        return perPolar[r] + t * (perPolar[r + 1] - perPolar[r]);
+    }
+
+    private double interpolateAlpha(double[] column, double alphaDeg, double re) {
+        int n = reynolds.length;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        double lr = Math.log(re);
+        if (n == 1 || !(lr > logReynolds[0])) {
+            return atAlpha(column, 0, alphaDeg);
+        }
+        if (lr >= logReynolds[n - 1]) {
+            return atAlpha(column, n - 1, alphaDeg);
+        }
+        int r = lowerPolar(lr);
+        double t = (lr - logReynolds[r]) / (logReynolds[r + 1] - logReynolds[r]);
+        double lower = atAlpha(column, r, alphaDeg);
+        return lower + t * (atAlpha(column, r + 1, alphaDeg) - lower);
+    }
+
+    // Linear in alpha within polar r, clamped to its first and last rows
+    private double atAlpha(double[] column, int r, double alphaDeg) {
+        int lo = start[r], hi = start[r + 1] - 1;
+        if (!(alphaDeg > alpha[lo])) {
+            return column[lo];
+        }
+        if (alphaDeg >= alpha[hi]) {
+            return column[hi];
+        }
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            if (alpha[mid] <= alphaDeg) {
+                lo = mid;
+            } else {
+                hi = mid;
+            }
+        }
+        double span = alpha[hi] - alpha[lo];
+        double f = span > 0 ? (alphaDeg - alpha[lo]) / span : 0.0;
+        return column[lo] + f * (column[hi] - column[lo]);
+    }
+}
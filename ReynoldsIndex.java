@@ -0,0 +1,126 @@
+import java.util.Arrays;
+
+/**
+ * Static interval index over the Reynolds ranges of an {@link AirfoilCatalog}.
+ *
+ * Intervals are sorted by reynoldsMin and laid out as an implicit balanced
+ * binary tree (node = middle of its range) where every node also stores the
+ * largest reynoldsMax in its subtree. A stabbing query only descends into
+ * subtrees that can still contain a covering interval, so it costs
+ * O(log n + k) for k matches instead of a scan over the whole catalog.
+ */
+public final class ReynoldsIndex {
+    private final int[] order;        // catalog index, sorted by reynoldsMin
+    private final double[] lows;      // reynoldsMin in sorted order
+    private final double[] highs;     // reynoldsMax in sorted order
+    private final double[] subtreeMax; // max of highs below each implicit tree node
+
+    public ReynoldsIndex(double[] reynoldsMin, double[] reynoldsMax) {
+        int n = reynoldsMin.length;
+        // Sort catalog indices by reynoldsMin (stable for equal minimums)
+        order = sortByValue(reynoldsMin);
+        lows = new double[n];
+        highs = new double[n];
+        for (int i = 0; i < n; i++) {
+            lows[i] = reynoldsMin[order[i]];
+            highs[i] = reynoldsMax[order[i]];
+        }
+        subtreeMax = new double[n];
+        build(0, n);
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    /**
+     * Collect the catalog indices whose Reynolds range contains {@code reynolds}
+     * once widened by the relative {@code tolerance} (0.1 = 10%).
+     *
+     * @param out receives the matching indices; must hold at least {@link #size()} entries
+     * @return the number of indices written to {@code out}
+     */
+    public int query(double reynolds, double tolerance, int[] out) {
+        double factor = 1.0 + Math.max(0.0, tolerance);
+        double upper = reynolds * factor;
+        double lower = reynolds / factor;
+        int limit = upperBound(lows, upper);
+        return collect(0, order.length, limit, lower, out, 0);
+    }
+
+    /**
+     * Convenience variant of {@link #query(double, double, int[])} returning a trimmed array.
+     */
+    public int[] query(double reynolds, double tolerance) {
+        int[] out = new int[order.length];
+        int count = query(reynolds, tolerance, out);
+        return Arrays.copyOf(out, count);
+    }
+
+    // ----- Construction -----
+    private double build(int from, int to) {
+        if (from >= to) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        int mid = (from + to) >>> 1;
+        double max = Math.max(highs[mid], Math.max(build(from, mid), build(mid + 1, to)));
+        subtreeMax[mid] = max;
+        return max;
+    }
+
+    private static int[] sortByValue(double[] values) {
+        int n = values.length;
+        long[] packed = new long[n];
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        // Rank each value with a binary search into the sorted copy, then pack (rank, index)
+        for (int i = 0; i < n; i++) {
+            packed[i] = ((long) lowerBound(sorted, values[i]) << 32) | i;
+        }
+        Arrays.sort(packed);
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = (int) packed[i];
+        }
+        return result;
+    }
+
+    // ----- Query -----
+    private int collect(int from, int to, int limit, double lower, int[] out, int count) {
+        if (from >= to || from >= limit) {
+            return count;
+        }
+        int mid = (from + to) >>> 1;
+        if (subtreeMax[mid] < lower) {
+            return count;
+        }
+        count = collect(from, mid, limit, lower, out, count);
+        if (mid < limit) {
+            if (highs[mid] >= lower) {
+                out[count++] = order[mid];
+            }
+            count = collect(mid + 1, to, limit, lower, out, count);
+        }
+        return count;
+    }
+
+    // First position whose value is >= key
+    private static int lowerBound(double[] sorted, double key) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // First position whose value is > key
+    private static int upperBound(double[] sorted, double key) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,179 @@
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Versioned schema upgrades for the SQLite database.
+ *
+ * The applied version is stored in {@code PRAGMA user_version}. On startup
+ * every migration above that version runs in its own transaction and bumps
+ * the version, so an existing airfoils.db is upgraded in place and a fresh
+ * one is built from scratch by the same steps. New migrations are appended
+ * to the list; released ones are never edited.
+ */
+public final class SchemaMigrations {
+    private static final Logger LOGGER = Logger.getLogger(SchemaMigrations.class.getName());
+
+    private static final class Migration {
+        final int version;
+        final String description;
+        final String[] statements;
+
+        Migration(int version, String description, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = statements;
+        }
+    }
+
+    private static final List<Migration> MIGRATIONS = new ArrayList<>();
+
+    static {
+        MIGRATIONS.add(new Migration(1, "Base users and airfoils tables",
+            """
+            CREATE TABLE IF NOT EXISTS users (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                username TEXT NOT NULL UNIQUE,
+                password TEXT NOT NULL,
+                email TEXT UNIQUE
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS airfoils (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                name TEXT NOT NULL UNIQUE,
+                maxCl REAL,
+                minCd REAL,
+                reynoldsMin REAL,
+                reynoldsMax REAL,
+                applicationType TEXT,
+                thickness REAL
+            )
+            """));
+
+        // Login and duplicate checks compare lower(column); these let SQLite seek instead of scan
+        MIGRATIONS.add(new Migration(2, "Expression indexes for case-insensitive lookups",
+            "CREATE INDEX IF NOT EXISTS idx_users_username_lower ON users(lower(username))",
+            "CREATE INDEX IF NOT EXISTS idx_users_email_lower ON users(lower(email))",
+            "CREATE INDEX IF NOT EXISTS idx_airfoils_name_lower ON airfoils(lower(name))"));
+
+        // Append-only; rows are read newest first a page at a time by (user_id, id)
+        MIGRATIONS.add(new Migration(3, "Persistent search history",
+            """
+            CREATE TABLE IF NOT EXISTS search_history (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                user_id INTEGER NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+                searched_at INTEGER NOT NULL,
+                speed REAL NOT NULL,
+                altitude REAL NOT NULL,
+                wing_area REAL NOT NULL,
+                required_lift REAL NOT NULL
+            )
+            """,
+            "CREATE INDEX IF NOT EXISTS idx_search_history_user ON search_history(user_id, id DESC)"));
+
+        // One row per airfoil and Reynolds number; data is packed by AirfoilPolar.toBytes
+        MIGRATIONS.add(new Migration(4, "Stored polars",
+            """
+            CREATE TABLE IF NOT EXISTS airfoil_polars (
+                airfoil_id INTEGER NOT NULL REFERENCES airfoils(id) ON DELETE CASCADE,
+                reynolds REAL NOT NULL,
+                data BLOB NOT NULL,
+                PRIMARY KEY (airfoil_id, reynolds)
+            )
+            """));
+
+        // Databases that predate migration 1 key airfoils by name and have no id column.
+        // Fresh ones have id as the rowid alias, so rows written under migration 4 are carried over by rowid.
+        MIGRATIONS.add(new Migration(5, "Key stored polars by airfoil name",
+            """
+            CREATE TABLE airfoil_polars_by_name (
+                airfoil_name TEXT NOT NULL REFERENCES airfoils(name) ON DELETE CASCADE ON UPDATE CASCADE,
+                reynolds REAL NOT NULL,
+                data BLOB NOT NULL,
+                PRIMARY KEY (airfoil_name, reynolds)
+            )
+            """,
+            "INSERT INTO airfoil_polars_by_name (airfoil_name, reynolds, data) "
+                + "SELECT a.name, p.reynolds, p.data FROM airfoil_polars p JOIN airfoils a ON a.rowid = p.airfoil_id",
+            "DROP TABLE airfoil_polars",
+            "ALTER TABLE airfoil_polars_by_name RENAME TO airfoil_polars"));
+
+        // Bumped by every change to the airfoils table, so caches of it (CatalogFile) can tell whether
+        // they are current without depending on unrelated writes. database_id tells copies apart.
+        MIGRATIONS.add(new Migration(6, "Airfoil catalog version",
+            """
+            CREATE TABLE IF NOT EXISTS catalog_version (
+                id INTEGER PRIMARY KEY CHECK (id = 1),
+                database_id INTEGER NOT NULL,
+                version INTEGER NOT NULL
+            )
+            """,
+            "INSERT OR IGNORE INTO catalog_version (id, database_id, version) VALUES (1, random(), 0)",
+            "CREATE TRIGGER IF NOT EXISTS airfoils_version_insert AFTER INSERT ON airfoils "
+                + "BEGIN UPDATE catalog_version SET version = version + 1 WHERE id = 1; END",
+            "CREATE TRIGGER IF NOT EXISTS airfoils_version_update AFTER UPDATE ON airfoils "
+                + "BEGIN UPDATE catalog_version SET version = version + 1 WHERE id = 1; END",
+            "CREATE TRIGGER IF NOT EXISTS airfoils_version_delete AFTER DELETE ON airfoils "
+                + "BEGIN UPDATE catalog_version SET version = version + 1 WHERE id = 1; END"));
+    }
+
+    private SchemaMigrations() {
+    }
+
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+    }
+
+    /**
+     * Switch the database to WAL and apply any pending migrations.
+     *
+     * @return the schema version after migrating
+     */
+    public static int migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            // Persistent setting: readers no longer block the writer and commits are cheaper
+            stmt.execute("PRAGMA journal_mode = WAL");
+        }
+
+        int current = currentVersion(conn);
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version <= current) {
+                continue;
+            }
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                for (String sql : migration.statements) {
+                    stmt.execute(sql);
+                }
+                stmt.execute("PRAGMA user_version = " + migration.version);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw new SQLException("Schema migration " + migration.version + " (" + migration.description
+                    + ") failed: " + e.getMessage(), e);
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+            LOGGER.info("Applied schema migration " + migration.version + ": " + migration.description);
+            current = migration.version;
+        }
+
+        if (current > latestVersion()) {
+            LOGGER.warning("Database schema version " + current + " is newer than this program (" + latestVersion() + ")");
+        }
+        return current;
+    }
+
+    public static int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
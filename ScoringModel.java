@@ -0,0 +1,35 @@
+/**
+ * Scores catalog airfoils for a flight condition. Higher is better.
+ *
+ * Implementations are called once per candidate on every recommendation, so
+ * {@link #score} must not allocate; {@link #explain} is only called for the
+ * handful of airfoils that end up being shown.
+ */
+public interface ScoringModel {
+
+    double score(AirfoilCatalog catalog, int index, double reynolds, double requiredCl);
+
+    String explain(AirfoilCatalog catalog, int index, double reynolds, double requiredCl);
+
+    /**
+     * Score {@code count} candidates into {@code out} (same positions as {@code candidates}).
+     * Models can override this with a loop specialized to the catalog columns.
+     */
+    default void scoreAll(AirfoilCatalog catalog, int[] candidates, int count,
+                          double reynolds, double requiredCl, double[] out) {
+        for (int c = 0; c < count; c++) {
+            out[c] = score(catalog, candidates[c], reynolds, requiredCl);
+        }
+    }
+
+    /**
+     * Re-score a candidate whose full polars are known, given its catalog
+     * score. Must not return more than {@code score}: the recommender relies
+     * on catalog scores being upper bounds to stop refining early. The
+     * default ignores the polars.
+     */
+    default double refine(AirfoilCatalog catalog, int index, PolarTable polars,
+                          double reynolds, double requiredCl, double score) {
+        return score;
+    }
+}
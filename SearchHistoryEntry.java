@@ -0,0 +1,16 @@
+/**
+ * One stored search. The id orders entries (higher is newer) and is the
+ * cursor for fetching the page after it.
+ */
+public class SearchHistoryEntry {
+    private final long id;
+    private final FlightParameters params;
+
+    public SearchHistoryEntry(long id, FlightParameters params) {
+        this.id = id;
+        this.params = params;
+    }
+
+    public long getId() { return id; }
+    public FlightParameters getParams() { return params; }
+}
@@ -0,0 +1,50 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-user search history, persisted in the search_history table.
+ *
+ * Pages are read newest first with keyset pagination: each page starts
+ * below the id of the last entry of the previous one, so any page costs
+ * one index seek no matter how long the history is.
+ */
+public class SearchHistoryService {
+    public static final int DEFAULT_PAGE_SIZE = 10;
+
+    private final DatabaseService dbService;
+
+    public SearchHistoryService() {
+        this(DatabaseService.getShared());
+    }
+
+    public SearchHistoryService(DatabaseService dbService) {
+        this.dbService = dbService;
+    }
+
+    /** Append a search; does nothing for a null user. */
+    public boolean record(User user, FlightParameters params) {
+        if (user == null || params == null) {
+            return false;
+        }
+        return dbService.addSearchHistory(user.getId(), params) > 0;
+    }
+
+    /** The newest searches, most recent first. */
+    public List<SearchHistoryEntry> recent(User user, int limit) {
+        return before(user, Long.MAX_VALUE, limit);
+    }
+
+    /**
+     * The searches older than {@code cursor}, most recent first. Pass the id
+     * of the last entry of the previous page; an empty list means the end.
+     */
+    public List<SearchHistoryEntry> before(User user, long cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        if (user == null) {
+            return Collections.emptyList();
+        }
+        return dbService.getSearchHistory(user.getId(), cursor, limit);
+    }
+}
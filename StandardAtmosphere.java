@@ -0,0 +1,118 @@
+/**
+ * International Standard Atmosphere (ISA) from -1 km to 32 km geopotential altitude.
+ *
+ * All properties are precomputed once into tables at {@code STEP} metre
+ * spacing and read back with linear interpolation, so a lookup costs an
+ * index computation and two array reads instead of pow/exp calls. Altitudes
+ * outside the table are clamped to its ends.
+ */
+public final class StandardAtmosphere {
+    public static final double MIN_ALTITUDE = -1_000.0;
+    public static final double MAX_ALTITUDE = 32_000.0;
+    private static final double STEP = 10.0;
+
+    // Physical constants
+    private static final double G0 = 9.80665;           // m/s²
+    private static final double R_AIR = 287.05287;      // J/(kg·K)
+    private static final double GAMMA = 1.4;
+    private static final double SUTHERLAND_C1 = 1.458e-6; // kg/(m·s·√K)
+    private static final double SUTHERLAND_S = 110.4;     // K
+
+    // Layer base values
+    private static final double T0 = 288.15, P0 = 101_325.0, LAPSE_TROPO = -0.0065;
+    private static final double H_TROPOPAUSE = 11_000.0, T_TROPOPAUSE = 216.65;
+    private static final double P_TROPOPAUSE = P0 * Math.pow(T_TROPOPAUSE / T0, -G0 / (LAPSE_TROPO * R_AIR));
+    private static final double H_STRATO = 20_000.0, LAPSE_STRATO = 0.001;
+    private static final double P_STRATO = P_TROPOPAUSE * Math.exp(-G0 * (H_STRATO - H_TROPOPAUSE) / (R_AIR * T_TROPOPAUSE));
+
+    private static final int SIZE = (int) Math.round((MAX_ALTITUDE - MIN_ALTITUDE) / STEP) + 1;
+    private static final double[] TEMPERATURE = new double[SIZE];
+    private static final double[] PRESSURE = new double[SIZE];
+    private static final double[] DENSITY = new double[SIZE];
+    private static final double[] DYNAMIC_VISCOSITY = new double[SIZE];
+    private static final double[] KINEMATIC_VISCOSITY = new double[SIZE];
+    private static final double[] SPEED_OF_SOUND = new double[SIZE];
+
+    static {
+        for (int i = 0; i < SIZE; i++) {
+            double h = MIN_ALTITUDE + i * STEP;
+            double t = exactTemperature(h);
+            double p = exactPressure(h, t);
+            double rho = p / (R_AIR * t);
+            double mu = SUTHERLAND_C1 * t * Math.sqrt(t) / (t + SUTHERLAND_S);
+            TEMPERATURE[i] = t;
+            PRESSURE[i] = p;
+            DENSITY[i] = rho;
+            DYNAMIC_VISCOSITY[i] = mu;
+            KINEMATIC_VISCOSITY[i] = mu / rho;
+            SPEED_OF_SOUND[i] = Math.sqrt(GAMMA * R_AIR * t);
+        }
+    }
+
+    private StandardAtmosphere() {
+    }
+
+    /** Air temperature in K. */
+    public static double temperature(double altitude) {
+        return lookup(TEMPERATURE, altitude);
+    }
+
+    /** Static pressure in Pa. */
+    public static double pressure(double altitude) {
+        return lookup(PRESSURE, altitude);
+    }
+
+    /** Air density in kg/m³. */
+    public static double density(double altitude) {
+        return lookup(DENSITY, altitude);
+    }
+
+    /** Dynamic viscosity in Pa·s (Sutherland's law). */
+    public static double dynamicViscosity(double altitude) {
+        return lookup(DYNAMIC_VISCOSITY, altitude);
+    }
+
+    /** Kinematic viscosity in m²/s. */
+    public static double kinematicViscosity(double altitude) {
+        return lookup(KINEMATIC_VISCOSITY, altitude);
+    }
+
+    /** Speed of sound in m/s. */
+    public static double speedOfSound(double altitude) {
+        return lookup(SPEED_OF_SOUND, altitude);
+    }
+
+    private static double lookup(double[] table, double altitude) {
+        double position = (altitude - MIN_ALTITUDE) / STEP;
+        if (!(position > 0)) {          // also catches NaN
+            return table[0];
+        }
+        if (position >= SIZE - 1) {
+            return table[SIZE - 1];
+        }
+        int i = (int) position;
+        double frac = position - i;
+        return table[i] + frac * (table[i + 1] - table[i]);
+    }
+
+    // ----- Closed-form model used to fill the tables -----
+    private static double exactTemperature(double h) {
+        if (h <= H_TROPOPAUSE) {
+            return T0 + LAPSE_TROPO * h;
+        }
+        if (h <= H_STRATO) {
+            return T_TROPOPAUSE;
+        }
+        return T_TROPOPAUSE + LAPSE_STRATO * (h - H_STRATO);
+    }
+
+    private static double exactPressure(double h, double t) {
+        if (h <= H_TROPOPAUSE) {
+            return P0 * Math.pow(t / T0, -G0 / (LAPSE_TROPO * R_AIR));
+        }
+        if (h <= H_STRATO) {
+            return P_TROPOPAUSE * Math.exp(-G0 * (h - H_TROPOPAUSE) / (R_AIR * T_TROPOPAUSE));
+        }
+        return P_STRATO * Math.pow(t / T_TROPOPAUSE, -G0 / (LAPSE_STRATO * R_AIR));
+    }
+}
@@ -0,0 +1,45 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records how long after process start the application reached each startup
+ * milestone ("first frame", "catalog ready", "first recommendation", ...).
+ * Only the first occurrence of a milestone counts. Marks are logged at FINE
+ * and read back by {@code bench/StartupBenchmark}.
+ */
+public final class StartupTimer {
+    private static final Logger LOGGER = Logger.getLogger(StartupTimer.class.getName());
+
+    public static final String FIRST_FRAME = "first frame";
+    public static final String CATALOG_READY = "catalog ready";
+    public static final String FIRST_RECOMMENDATION = "first recommendation";
+
+    private static final long ORIGIN_MILLIS = processStartMillis();
+    private static final Map<String, Long> MARKS = new ConcurrentHashMap<>();
+
+    private StartupTimer() {
+    }
+
+    /** Record a milestone; later calls for the same name are ignored. */
+    public static void mark(String milestone) {
+        long elapsed = System.currentTimeMillis() - ORIGIN_MILLIS;
+        if (MARKS.putIfAbsent(milestone, elapsed) == null && LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Startup: " + milestone + " after " + elapsed + " ms");
+        }
+    }
+
+    /** Milliseconds from process start to the milestone, or -1 if not reached yet. */
+    public static long elapsedMillis(String milestone) {
+        Long elapsed = MARKS.get(milestone);
+        return elapsed == null ? -1 : elapsed;
+    }
+
+    // Falls back to class initialization time if the OS does not report a start time
+    private static long processStartMillis() {
+        return ProcessHandle.current().info().startInstant()
+            .map(java.time.Instant::toEpochMilli)
+            .orElseGet(System::currentTimeMillis);
+    }
+}
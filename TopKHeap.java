@@ -0,0 +1,108 @@
+/**
+ * Fixed-capacity min-heap over (score, index) pairs kept in primitive arrays.
+ *
+ * Keeps the K best scores seen so far: the root is the weakest winner, so a
+ * new score only enters the heap when it beats it. Nothing is boxed and the
+ * arrays are reused across queries via {@link #reset(int)}.
+ */
+public final class TopKHeap {
+    private double[] scores;
+    private int[] indices;
+    private int capacity;
+    private int size;
+
+    public TopKHeap(int initialCapacity) {
+        int n = Math.max(1, initialCapacity);
+        scores = new double[n];
+        indices = new int[n];
+    }
+
+    /**
+     * Empty the heap and set how many entries it should retain.
+     */
+    public void reset(int k) {
+        if (k > scores.length) {
+            scores = new double[k];
+            indices = new int[k];
+        }
+        capacity = k;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Score of the weakest retained entry; only meaningful when the heap is not empty. */
+    public double weakestScore() {
+        return scores[0];
+    }
+
+    public void offer(double score, int index) {
+        if (capacity == 0 || Double.isNaN(score)) {
+            return;
+        }
+        if (size < capacity) {
+            int i = size++;
+            // Sift up
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!weaker(score, index, scores[parent], indices[parent])) {
+                    break;
+                }
+                scores[i] = scores[parent];
+                indices[i] = indices[parent];
+                i = parent;
+            }
+            scores[i] = score;
+            indices[i] = index;
+        } else if (weaker(scores[0], indices[0], score, index)) {
+            siftDown(score, index);
+        }
+    }
+
+    /**
+     * Empty the heap into the given arrays, best entry first.
+     *
+     * @return the number of entries written
+     */
+    public int drainDescending(double[] outScores, int[] outIndices) {
+        int n = size;
+        // Repeatedly pop the weakest entry into the back of the output
+        for (int pos = n - 1; pos >= 0; pos--) {
+            outScores[pos] = scores[0];
+            outIndices[pos] = indices[0];
+            size--;
+            if (size > 0) {
+                siftDown(scores[size], indices[size]);
+            }
+        }
+        return n;
+    }
+
+    // Replace the root with (score, index) and restore heap order
+    private void siftDown(double score, int index) {
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && weaker(scores[right], indices[right], scores[child], indices[child])) {
+                child = right;
+            }
+            if (!weaker(scores[child], indices[child], score, index)) {
+                break;
+            }
+            scores[i] = scores[child];
+            indices[i] = indices[child];
+            i = child;
+        }
+        scores[i] = score;
+        indices[i] = index;
+    }
+
+    // Lower score loses; on equal scores the later catalog entry loses
+    private static boolean weaker(double scoreA, int indexA, double scoreB, int indexB) {
+        return scoreA < scoreB || (scoreA == scoreB && indexA > indexB);
+    }
+}
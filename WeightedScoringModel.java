@@ -0,0 +1,150 @@
+/**
+ * Default recommendation score: a weighted blend of four terms, each in [0, 1]
+ * (the Cl term goes down to -1 when the airfoil cannot make the required lift).
+ *
+ *  - Cl margin: how far the required Cl stays below maxCl (full marks up to
+ *    {@code DESIGN_CL_FRACTION} of maxCl, leaving a stall margin)
+ *  - Re fit: 1 inside the rated Reynolds range, fading out over one decade
+ *  - L/D: maxCl / minCd, saturating as L/D / (L/D + {@code LD_HALF_SCORE})
+ *  - Thickness: closeness to {@code TARGET_THICKNESS} for structural depth
+ *
+ * The result is scaled to 0-100.
+ *
+ * With polars ({@link #refine}) maxCl is taken at the flight's Reynolds
+ * number, and the L/D term uses the drag at the required Cl instead of minCd.
+ */
+public class WeightedScoringModel implements ScoringModel {
+    private static final double DESIGN_CL_FRACTION = 0.7;
+    private static final double LD_HALF_SCORE = 150.0;
+    private static final double TARGET_THICKNESS = 0.12;
+
+    private final double clWeight;
+    private final double reynoldsWeight;
+    private final double liftToDragWeight;
+    private final double thicknessWeight;
+
+    public WeightedScoringModel() {
+        this(0.35, 0.25, 0.30, 0.10);
+    }
+
+    public WeightedScoringModel(double clWeight, double reynoldsWeight, double liftToDragWeight, double thicknessWeight) {
+        if (clWeight < 0 || reynoldsWeight < 0 || liftToDragWeight < 0 || thicknessWeight < 0) {
+            throw new IllegalArgumentException("Scoring weights must be non-negative");
+        }
+        double total = clWeight + reynoldsWeight + liftToDragWeight + thicknessWeight;
+        if (!(total > 0)) {
+            throw new IllegalArgumentException("At least one scoring weight must be positive");
+        }
+        // Normalize once so the kernel is a plain dot product scaled to 0-100
+        this.clWeight = 100.0 * clWeight / total;
+        this.reynoldsWeight = 100.0 * reynoldsWeight / total;
+        this.liftToDragWeight = 100.0 * liftToDragWeight / total;
+        this.thicknessWeight = 100.0 * thicknessWeight / total;
+    }
+
+    @Override
+    public double score(AirfoilCatalog catalog, int i, double reynolds, double requiredCl) {
+        return combine(catalog.maxClColumn()[i], catalog.minCdColumn()[i],
+            catalog.reynoldsMinColumn()[i], catalog.reynoldsMaxColumn()[i],
+            catalog.thicknessColumn()[i], reynolds, requiredCl);
+    }
+
+    @Override
+    public void scoreAll(AirfoilCatalog catalog, int[] candidates, int count,
+                         double reynolds, double requiredCl, double[] out) {
+        double[] maxCl = catalog.maxClColumn();
+        double[] minCd = catalog.minCdColumn();
+        double[] reMin = catalog.reynoldsMinColumn();
+        double[] reMax = catalog.reynoldsMaxColumn();
+        double[] thickness = catalog.thicknessColumn();
+        for (int c = 0; c < count; c++) {
+            int i = candidates[c];
+            out[c] = combine(maxCl[i], minCd[i], reMin[i], reMax[i], thickness[i], reynolds, requiredCl);
+        }
+    }
+
+    @Override
+    public String explain(AirfoilCatalog catalog, int i, double reynolds, double requiredCl) {
+        double maxCl = catalog.maxClColumn()[i];
+        double minCd = catalog.minCdColumn()[i];
+        double cl = clTerm(maxCl, requiredCl);
+        double re = reynoldsTerm(catalog.reynoldsMinColumn()[i], catalog.reynoldsMaxColumn()[i], reynolds);
+        double ld = liftToDragTerm(maxCl, minCd);
+        double t = thicknessTerm(catalog.thicknessColumn()[i]);
+
+        if (cl <= 0) {
+            return String.format("Cannot reach required Cl %.2f (max %.2f)", requiredCl, maxCl);
+        }
+        // Lead with whichever term contributed most to the score
+        double best = Math.max(Math.max(clWeight * cl, reynoldsWeight * re),
+                               Math.max(liftToDragWeight * ld, thicknessWeight * t));
+        String lead;
+        if (best == liftToDragWeight * ld) {
+            lead = String.format("High L/D ratio (%.0f)", maxCl / minCd);
+        } else if (best == clWeight * cl) {
+            lead = String.format("Good stall margin (Cl %.2f of max %.2f)", requiredCl, maxCl);
+        } else if (best == reynoldsWeight * re) {
+            lead = "Rated for this Reynolds number";
+        } else {
+            lead = "Suitable thickness";
+        }
+        return re < 1.0 ? lead + ", outside rated Re range" : lead;
+    }
+
+    @Override
+    public double refine(AirfoilCatalog catalog, int i, PolarTable polars,
+                         double reynolds, double requiredCl, double score) {
+        if (polars.isEmpty()) {
+            return score;
+        }
+        double maxCl = polars.maxCl(reynolds);
+        double cd = polars.cd(requiredCl, reynolds);
+        double refined = clWeight * clTerm(maxCl, requiredCl)
+            + reynoldsWeight * reynoldsTerm(catalog.reynoldsMinColumn()[i], catalog.reynoldsMaxColumn()[i], reynolds)
+            + liftToDragWeight * (Double.isNaN(cd) ? 0.0 : liftToDragTerm(maxCl, cd)) // NaN: stalled
+            + thicknessWeight * thicknessTerm(catalog.thicknessColumn()[i]);
+        // Polars and catalog scalars can disagree slightly; never rank above the catalog bound
+        return Math.min(score, refined);
+    }
+
+    // ----- Kernel -----
+    private double combine(double maxCl, double minCd, double reMin, double reMax, double thickness,
+                           double reynolds, double requiredCl) {
+        return clWeight * clTerm(maxCl, requiredCl)
+             + reynoldsWeight * reynoldsTerm(reMin, reMax, reynolds)
+             + liftToDragWeight * liftToDragTerm(maxCl, minCd)
+             + thicknessWeight * thicknessTerm(thickness);
+    }
+
+    private static double clTerm(double maxCl, double requiredCl) {
+        if (!(maxCl > 0)) {
+            return -1.0;
+        }
+        double fraction = requiredCl / maxCl;
+        double term = (1.0 - fraction) / (1.0 - DESIGN_CL_FRACTION);
+        return Math.max(-1.0, Math.min(1.0, term));
+    }
+
+    private static double reynoldsTerm(double reMin, double reMax, double reynolds) {
+        if (reynolds >= reMin && reynolds <= reMax) {
+            return 1.0;
+        }
+        // Decades outside the nearest bound
+        double decades = reynolds < reMin ? Math.log10(reMin / reynolds) : Math.log10(reynolds / reMax);
+        return Math.max(0.0, 1.0 - decades);
+    }
+
+    private static double liftToDragTerm(double maxCl, double minCd) {
+        if (!(minCd > 0) || !(maxCl > 0)) {
+            return 0.0;
+        }
+        double ld = maxCl / minCd;
+        return ld / (ld + LD_HALF_SCORE);
+    }
+
+    private static double thicknessTerm(double thickness) {
+        // Older rows store thickness in percent rather than as a ratio
+        double ratio = thickness > 1.0 ? thickness / 100.0 : thickness;
+        return Math.max(0.0, 1.0 - Math.abs(ratio - TARGET_THICKNESS) / TARGET_THICKNESS);
+    }
+}
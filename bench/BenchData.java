@@ -0,0 +1,48 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic data shared by the benchmark harnesses.
+ */
+final class BenchData {
+    private static final String[] TYPES = {
+        "General Aviation", "Glider", "Sailplane", "Wind Turbine", "Transport Aircraft", "Low Reynolds / Drone"
+    };
+
+    private BenchData() {
+    }
+
+    /**
+     * Airfoils with narrow, log-distributed Reynolds ranges, similar to
+     * section polars measured at a few Reynolds numbers each.
+     */
+    static List<Airfoil> syntheticAirfoils(int size, Random random) {
+        List<Airfoil> airfoils = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            double low = Math.pow(10, 4 + 3 * random.nextDouble());
+            double high = low * (1.5 + 4 * random.nextDouble());
+            airfoils.add(new Airfoil("AF-" + i, 0.8 + random.nextDouble(), 0.004 + 0.01 * random.nextDouble(),
+                low, high, TYPES[random.nextInt(TYPES.length)], 0.06 + 0.14 * random.nextDouble()));
+        }
+        return airfoils;
+    }
+
+    static AirfoilCatalog syntheticCatalog(int size, Random random) {
+        return AirfoilCatalog.of(1L, syntheticAirfoils(size, random));
+    }
+
+    static FlightParameters randomFlight(Random random) {
+        return new FlightParameters(10 + 90 * random.nextDouble(), 3000 * random.nextDouble(),
+            0.2 + 20 * random.nextDouble(), 50 + 20_000 * random.nextDouble());
+    }
+
+    /** Bytes allocated so far by the calling thread, or 0 if the JVM cannot tell. */
+    static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = java.lang.management.ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+}
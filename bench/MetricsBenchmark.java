@@ -0,0 +1,76 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Cost of recording one event in {@link Metrics}: a counter increment, a
+ * timer record of a given duration, and a timer record including the two
+ * {@link System#nanoTime()} calls a caller makes around the timed code.
+ * Runs on one thread and on all cores; the target is well under 50 ns.
+ *
+ * Run from the project folder:
+ *   javac -cp . -d out *.java bench/*.java
+ *   java -Dairfoil.metrics.jmx=false -cp out MetricsBenchmark
+ */
+public class MetricsBenchmark {
+    private static final long EVENTS_PER_THREAD = 20_000_000L;
+    private static final int ROUNDS = 5;
+
+    interface Recorder {
+        void record(long i);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Metrics.Counter counter = Metrics.counter("bench.counter");
+        Metrics.Timer timer = Metrics.timer("bench.timer");
+        Metrics.Timer timed = Metrics.timer("bench.timed");
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%-24s %12s %14s%n", "event", "ns (1t)", "ns (" + cores + "t)");
+        report("counter.increment", i -> counter.increment(), cores);
+        report("timer.record", i -> timer.record(i & 0xFFFFF), cores);
+        report("timer.recordSince", i -> timed.recordSince(System.nanoTime()), cores);
+        System.out.print(Metrics.dump().lines()
+            .filter(line -> line.contains("bench."))
+            .reduce("", (a, b) -> a + b + System.lineSeparator()));
+    }
+
+    private static void report(String name, Recorder recorder, int cores) throws Exception {
+        System.out.printf("%-24s %12.1f %14.1f%n", name, run(recorder, 1), run(recorder, cores));
+    }
+
+    // Best of several rounds, in nanoseconds per event on each thread
+    private static double run(Recorder recorder, int threads) throws Exception {
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> workers = new ArrayList<>();
+            long[] elapsed = new long[threads];
+            for (int t = 0; t < threads; t++) {
+                int slot = t;
+                Thread w = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    long begin = System.nanoTime();
+                    for (long i = 0; i < EVENTS_PER_THREAD; i++) {
+                        recorder.record(i);
+                    }
+                    elapsed[slot] = System.nanoTime() - begin;
+                });
+                workers.add(w);
+                w.start();
+            }
+            start.countDown();
+            long slowest = 0;
+            for (int t = 0; t < threads; t++) {
+                workers.get(t).join();
+                slowest = Math.max(slowest, elapsed[t]);
+            }
+            best = Math.min(best, (double) slowest / EVENTS_PER_THREAD);
+        }
+        return best;
+    }
+}
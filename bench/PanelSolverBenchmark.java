@@ -0,0 +1,76 @@
+/**
+ * Milliseconds to set up a {@link PanelSolver} (repanel, assemble, LU
+ * factor) and to sweep 40 angles of attack, for 100 to 300 panels on a
+ * NACA 2412, plus the full {@link PanelSolver#computePolars} call the
+ * importer makes for a section without polars.
+ *
+ * Run from the project folder:
+ *   javac -cp . -d out *.java bench/*.java
+ *   java -cp out PanelSolverBenchmark
+ */
+public class PanelSolverBenchmark {
+    private static final int[] PANEL_COUNTS = { 100, 200, 300 };
+    private static final int ANGLES = 40;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) {
+        AirfoilCoordinates naca2412 = naca4("NACA 2412", 0.02, 0.4, 0.12, 100);
+        double[] alphas = new double[ANGLES];
+        for (int k = 0; k < ANGLES; k++) {
+            alphas[k] = -4 + 0.5 * k;
+        }
+
+        System.out.printf("%-8s %12s %14s %10s%n", "panels", "setup (ms)", "sweep (ms)", "max Cl");
+        for (int panels : PANEL_COUNTS) {
+            double setup = Double.MAX_VALUE;
+            double sweep = Double.MAX_VALUE;
+            double maxCl = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                PanelSolver solver = new PanelSolver(naca2412, panels);
+                long solved = System.nanoTime();
+                AirfoilPolar polar = solver.polar(1e6, alphas);
+                long end = System.nanoTime();
+                setup = Math.min(setup, (solved - start) / 1e6);
+                sweep = Math.min(sweep, (end - solved) / 1e6);
+                maxCl = polar.maxCl();
+            }
+            System.out.printf("%-8d %12.2f %14.2f %10.3f%n", panels, setup, sweep, maxCl);
+        }
+
+        double full = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            PanelSolver.computePolars(naca2412, PanelSolver.DEFAULT_REYNOLDS);
+            full = Math.min(full, (System.nanoTime() - start) / 1e6);
+        }
+        System.out.printf("computePolars (%d panels, %d Reynolds numbers): %.2f ms%n",
+            PanelSolver.DEFAULT_PANELS, PanelSolver.DEFAULT_REYNOLDS.length, full);
+    }
+
+    // NACA 4-digit section in Selig order (upper TE -> LE -> lower TE), cosine-spaced
+    static AirfoilCoordinates naca4(String name, double camber, double camberPosition, double thickness, int perSide) {
+        double[] x = new double[2 * perSide + 1];
+        double[] y = new double[2 * perSide + 1];
+        for (int j = 0; j <= perSide; j++) {
+            double xc = 0.5 * (1 - Math.cos(Math.PI * j / perSide));
+            double yt = 5 * thickness * (0.2969 * Math.sqrt(xc) - 0.1260 * xc - 0.3516 * xc * xc
+                + 0.2843 * xc * xc * xc - 0.1036 * xc * xc * xc * xc);
+            double yc, slope;
+            if (xc < camberPosition) {
+                yc = camber / (camberPosition * camberPosition) * (2 * camberPosition * xc - xc * xc);
+                slope = 2 * camber / (camberPosition * camberPosition) * (camberPosition - xc);
+            } else {
+                double q = (1 - camberPosition) * (1 - camberPosition);
+                yc = camber / q * (1 - 2 * camberPosition + 2 * camberPosition * xc - xc * xc);
+                slope = 2 * camber / q * (camberPosition - xc);
+            }
+            double theta = Math.atan(slope);
+            x[perSide - j] = xc - yt * Math.sin(theta);
+            y[perSide - j] = yc + yt * Math.cos(theta);
+            x[perSide + j] = xc + yt * Math.sin(theta);
+            y[perSide + j] = yc - yt * Math.cos(theta);
+        }
+        return new AirfoilCoordinates(name, x, y);
+    }
+}
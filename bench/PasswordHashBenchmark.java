@@ -0,0 +1,75 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Logins per second (one PBKDF2 verification each) for a range of
+ * iteration counts, on one thread and on all cores. Use it to pick
+ * -Dairfoil.password.iterations for the target hardware: a single
+ * verification should stay well under the login latency budget.
+ *
+ * Run from the project folder:
+ *   javac -cp . -d out *.java bench/*.java
+ *   java -cp out PasswordHashBenchmark
+ */
+public class PasswordHashBenchmark {
+    private static final int[] ITERATIONS = { 10_000, 50_000, 100_000, PasswordHasher.DEFAULT_ITERATIONS, 600_000 };
+    private static final long TARGET_MILLIS_PER_SETTING = 2_000;
+    private static final String PASSWORD = "Correct-Horse-9";
+
+    public static void main(String[] args) throws Exception {
+        int threads = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%-12s %14s %16s %20s%n", "iterations", "ms/login", "logins/s (1t)", "logins/s (" + threads + "t)");
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int iterations : ITERATIONS) {
+                run(pool, threads, iterations);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void run(ExecutorService pool, int threads, int iterations) throws Exception {
+        PasswordHasher hasher = new PasswordHasher(iterations, PasswordHasher.DEFAULT_SALT_BYTES, PasswordHasher.DEFAULT_KEY_BYTES);
+        String stored = hasher.hash(PASSWORD);
+
+        // Warm up and size the run so every setting takes roughly the same time
+        long start = System.nanoTime();
+        check(hasher.verify(PASSWORD, stored));
+        check(hasher.verify(PASSWORD, stored));
+        double msPerLogin = (System.nanoTime() - start) / 2e6;
+        int logins = (int) Math.max(4, TARGET_MILLIS_PER_SETTING / Math.max(msPerLogin, 0.01));
+
+        start = System.nanoTime();
+        for (int i = 0; i < logins; i++) {
+            check(hasher.verify(PASSWORD, stored));
+        }
+        double single = logins / ((System.nanoTime() - start) / 1e9);
+
+        int perThread = Math.max(1, logins / threads) * 2;
+        List<Future<?>> futures = new ArrayList<>();
+        start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    check(hasher.verify(PASSWORD, stored));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double parallel = (double) perThread * threads / ((System.nanoTime() - start) / 1e9);
+
+        System.out.printf("%-12d %14.2f %16.1f %20.1f%n", iterations, 1000.0 / single, single, parallel);
+    }
+
+    private static void check(boolean ok) {
+        if (!ok) {
+            throw new IllegalStateException("verification failed");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Nanoseconds per {@link PolarTable#cd(double, double)} lookup for tables of
+ * 1 to 8 polars, with the bytes allocated while looking up (which should
+ * stay at zero). Queries are spread over the stored Cl and Reynolds ranges.
+ *
+ * Run from the project folder:
+ *   javac -cp . -d out *.java bench/*.java
+ *   java -cp out PolarLookupBenchmark
+ */
+public class PolarLookupBenchmark {
+    private static final int[] POLAR_COUNTS = { 1, 3, 8 };
+    private static final int ROWS_PER_POLAR = 60;
+    private static final int QUERIES = 4096;
+    private static final long LOOKUPS_PER_ROUND = 50_000_000L;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        System.out.printf("%-8s %12s %14s %12s%n", "polars", "ns/lookup", "Mlookups/s", "bytes");
+        for (int polars : POLAR_COUNTS) {
+            run(polars);
+        }
+    }
+
+    private static void run(int polarCount) {
+        Random random = new Random(polarCount);
+        PolarTable table = PolarTable.of(syntheticPolars(polarCount));
+        double[] cl = new double[QUERIES];
+        double[] re = new double[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            cl[q] = random.nextDouble() * 1.3;
+            re[q] = 5e4 * Math.pow(40, random.nextDouble());
+        }
+
+        double best = Double.MAX_VALUE;
+        long bytes = 0;
+        double sink = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long bytesBefore = BenchData.allocatedBytes();
+            long start = System.nanoTime();
+            for (long i = 0; i < LOOKUPS_PER_ROUND; i++) {
+                int q = (int) i & (QUERIES - 1);
+                double cd = table.cd(cl[q], re[q]);
+                if (cd == cd) {
+                    sink += cd;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            bytes = BenchData.allocatedBytes() - bytesBefore;
+            best = Math.min(best, (double) elapsed / LOOKUPS_PER_ROUND);
+        }
+        System.out.printf("%-8d %12.1f %14.1f %12d%n", polarCount, best, 1e3 / best, bytes);
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    // Linear lift curve up to a Reynolds-dependent stall, parabolic drag bucket
+    private static List<AirfoilPolar> syntheticPolars(int count) {
+        List<AirfoilPolar> polars = new ArrayList<>(count);
+        for (int p = 0; p < count; p++) {
+            double reynolds = 5e4 * Math.pow(40, count == 1 ? 0.5 : (double) p / (count - 1));
+            double maxCl = 1.0 + 0.1 * Math.log10(reynolds / 5e4);
+            double[] alpha = new double[ROWS_PER_POLAR];
+            double[] cl = new double[ROWS_PER_POLAR];
+            double[] cd = new double[ROWS_PER_POLAR];
+            double[] cm = new double[ROWS_PER_POLAR];
+            for (int i = 0; i < ROWS_PER_POLAR; i++) {
+                alpha[i] = -6 + i * 0.4;
+                cl[i] = Math.min(maxCl, 0.2 + 0.1 * alpha[i]);
+                double bucket = cl[i] - 0.4;
+                cd[i] = (0.006 + 0.01 * bucket * bucket) * Math.pow(1e6 / reynolds, 0.2);
+                cm[i] = -0.05;
+            }
+            polars.add(new AirfoilPolar(reynolds, alpha, cl, cd, cm));
+        }
+        return polars;
+    }
+}
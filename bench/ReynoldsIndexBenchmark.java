@@ -0,0 +1,74 @@
+import java.util.Random;
+
+/**
+ * Compares Reynolds-range candidate selection through {@link ReynoldsIndex}
+ * against the linear scan it replaces, for growing synthetic catalogs.
+ *
+ * Run from the project folder:
+ *   javac -cp . -d out *.java bench/*.java
+ *   java -cp out ReynoldsIndexBenchmark
+ */
+public class ReynoldsIndexBenchmark {
+    private static final int[] SIZES = { 1_000, 10_000, 100_000, 1_000_000 };
+    private static final int QUERIES = 500;
+    private static final double TOLERANCE = 0.25;
+
+    public static void main(String[] args) {
+        System.out.printf("%-10s %14s %14s %10s %12s%n", "airfoils", "scan (us/q)", "index (us/q)", "speedup", "avg matches");
+        for (int size : SIZES) {
+            run(size);
+        }
+    }
+
+    private static void run(int size) {
+        Random random = new Random(42);
+        AirfoilCatalog catalog = BenchData.syntheticCatalog(size, random);
+        double[] reMin = catalog.reynoldsMinColumn();
+        double[] reMax = catalog.reynoldsMaxColumn();
+        ReynoldsIndex index = catalog.reynoldsIndex();
+
+        double[] queries = new double[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = Math.pow(10, 4 + 3 * random.nextDouble());
+        }
+        int[] out = new int[size];
+        double factor = 1.0 + TOLERANCE;
+
+        long sink = 0;
+        long scanNanos = Long.MAX_VALUE;
+        long indexNanos = Long.MAX_VALUE;
+        long matches = 0;
+
+        // A few rounds so the JIT has compiled both paths before the best round is kept
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (double re : queries) {
+                int count = 0;
+                for (int i = 0; i < size; i++) {
+                    if (reMin[i] <= re * factor && reMax[i] >= re / factor) {
+                        out[count++] = i;
+                    }
+                }
+                sink += count;
+            }
+            scanNanos = Math.min(scanNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            matches = 0;
+            for (double re : queries) {
+                int count = index.query(re, TOLERANCE, out);
+                matches += count;
+            }
+            indexNanos = Math.min(indexNanos, System.nanoTime() - start);
+            sink += matches;
+        }
+
+        double scanUs = scanNanos / 1_000.0 / QUERIES;
+        double indexUs = indexNanos / 1_000.0 / QUERIES;
+        System.out.printf("%-10d %14.2f %14.2f %9.1fx %12d%n",
+            size, scanUs, indexUs, scanUs / indexUs, matches / QUERIES);
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+import java.awt.GraphicsEnvironment;
+import java.awt.Window;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import javax.swing.SwingUtilities;
+
+/**
+ * Cold-start timings, each measured in a fresh JVM: time to first frame (the
+ * Swing window is shown and closed again; skipped when headless), time until
+ * the catalog is loaded, and time to the first recommendation, all counted
+ * from process start. The database is a temporary copy of airfoils.db so
+ * the real file is never migrated by a benchmark run.
+ *
+ * Run from the project folder (the SQLite driver must be on the classpath):
+ *   javac -cp . -d out *.java bench/*.java
+ *   java -cp "out;sqlite-jdbc-3.42.0.0.jar" StartupBenchmark [runs]
+ */
+public class StartupBenchmark {
+    private static final String PROBE = "--probe";
+    private static final String PREFIX = "STARTUP ";
+    private static final String[] MILESTONES = {
+        "services created", StartupTimer.FIRST_FRAME, StartupTimer.CATALOG_READY, StartupTimer.FIRST_RECOMMENDATION
+    };
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && PROBE.equals(args[0])) {
+            probe();
+            return;
+        }
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        Path dir = Files.createTempDirectory("startup-bench");
+        Path db = dir.resolve("airfoils.db");
+        Path source = Paths.get("airfoils.db");
+        if (Files.exists(source)) {
+            Files.copy(source, db, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        Map<String, List<Long>> samples = new LinkedHashMap<>();
+        for (String milestone : MILESTONES) {
+            samples.put(milestone, new ArrayList<>());
+        }
+        for (int run = 0; run < runs; run++) {
+            for (Map.Entry<String, Long> entry : runProbe(db).entrySet()) {
+                samples.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(entry.getValue());
+            }
+        }
+
+        System.out.printf("%-22s %10s %10s %10s%n", "milestone (ms)", "min", "median", "max");
+        for (Map.Entry<String, List<Long>> entry : samples.entrySet()) {
+            long[] values = entry.getValue().stream().mapToLong(Long::longValue).filter(v -> v >= 0).sorted().toArray();
+            if (values.length == 0) {
+                System.out.printf("%-22s %10s %10s %10s%n", entry.getKey(), "n/a", "n/a", "n/a");
+            } else {
+                System.out.printf("%-22s %10d %10d %10d%n", entry.getKey(),
+                    values[0], values[values.length / 2], values[values.length - 1]);
+            }
+        }
+
+        Files.deleteIfExists(db);
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(p); // WAL and shared-memory files
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    private static Map<String, Long> runProbe(Path db) throws IOException, InterruptedException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> command = new ArrayList<>(Arrays.asList(java,
+            "-Dairfoil.db.url=jdbc:sqlite:" + db.toAbsolutePath(),
+            "-cp", System.getProperty("java.class.path"),
+            StartupBenchmark.class.getName(), PROBE));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+        Map<String, Long> timings = new LinkedHashMap<>();
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(PREFIX)) {
+                    int eq = line.lastIndexOf('=');
+                    timings.put(line.substring(PREFIX.length(), eq), Long.parseLong(line.substring(eq + 1)));
+                } else {
+                    output.append(line).append(System.lineSeparator());
+                }
+            }
+        }
+        if (process.waitFor() != 0) {
+            System.err.print(output);
+            throw new IllegalStateException("Startup probe failed with exit code " + process.exitValue());
+        }
+        return timings;
+    }
+
+    // Runs in the child JVM
+    private static void probe() throws Exception {
+        AirfoilService service = new AirfoilService();
+        AuthenticationService authService = new AuthenticationService();
+        SearchHistoryService historyService = new SearchHistoryService();
+        StartupTimer.mark("services created");
+
+        if (!GraphicsEnvironment.isHeadless()) {
+            // Same path as a user launch; the window loads the catalog in the background
+            SwingUtilities.invokeAndWait(() -> new Main(service, authService, historyService));
+            long deadline = System.currentTimeMillis() + 60_000;
+            while (StartupTimer.elapsedMillis(StartupTimer.CATALOG_READY) < 0) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IllegalStateException("Catalog was not loaded within 60 s");
+                }
+                Thread.sleep(5);
+            }
+        } else {
+            service.getCatalog().reynoldsIndex();
+            StartupTimer.mark(StartupTimer.CATALOG_READY);
+        }
+
+        service.recommendTopK(BenchData.randomFlight(new Random(1)), 5);
+        StartupTimer.mark(StartupTimer.FIRST_RECOMMENDATION);
+
+        for (String milestone : MILESTONES) {
+            System.out.println(PREFIX + milestone + "=" + StartupTimer.elapsedMillis(milestone));
+        }
+        SwingUtilities.invokeAndWait(() -> {
+            for (Window window : Window.getWindows()) {
+                window.dispose();
+            }
+        });
+        System.exit(0);
+    }
+}
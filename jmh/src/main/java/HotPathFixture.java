@@ -0,0 +1,90 @@
+import airfoil.jmh.HotPaths;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * {@link HotPaths} over a temporary SQLite file seeded with synthetic airfoils.
+ */
+public class HotPathFixture implements HotPaths {
+    private static final String USERNAME = "bench";
+    private static final String PASSWORD = "Bench-Pass-42";
+    private static final int SEED_BATCH = 10_000;
+    private static final int FLIGHTS = 1024;
+    private static final int MAX_THREADS = 64;
+
+    private Path dir;
+    private DatabaseService db;
+    private AirfoilService airfoils;
+    private AuthenticationService auth;
+    private final FlightParameters[] flights = new FlightParameters[FLIGHTS];
+
+    @Override
+    public void setUp(int size) throws Exception {
+        dir = Files.createTempDirectory("hotpath-bench");
+        db = new DatabaseService("jdbc:sqlite:" + dir.resolve("bench.db").toAbsolutePath(),
+            Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+        List<Airfoil> seed = BenchData.syntheticAirfoils(size, new Random(11));
+        for (int from = 0; from < size; from += SEED_BATCH) {
+            if (db.upsertAirfoils(seed.subList(from, Math.min(size, from + SEED_BATCH))) < 0) {
+                throw new IllegalStateException("Could not seed the benchmark database");
+            }
+        }
+        if (!db.userExists(USERNAME) && !db.addUser(USERNAME, PASSWORD, "bench@example.com")) {
+            throw new IllegalStateException("Could not create the benchmark user");
+        }
+        airfoils = new AirfoilService(db);
+        auth = new AuthenticationService(db);
+        Random random = new Random(3);
+        for (int i = 0; i < FLIGHTS; i++) {
+            flights[i] = BenchData.randomFlight(random);
+        }
+        airfoils.getCatalog(); // load once, as the application does
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        db.close();
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(p); // database, WAL, shared-memory and catalog files
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    @Override
+    public int recommend(int flight) {
+        return airfoils.recommendAirfoils(flights[flight & (FLIGHTS - 1)]).size();
+    }
+
+    @Override
+    public int getAllAirfoils() {
+        return db.getAllAirfoils().size();
+    }
+
+    @Override
+    public int login() {
+        return requireUser(auth.login(USERNAME, PASSWORD));
+    }
+
+    @Override
+    public int loginUncached() {
+        db.clearUserFromCache(USERNAME);
+        return requireUser(auth.login(USERNAME, PASSWORD));
+    }
+
+    @Override
+    public int validatePassword() {
+        String error = auth.validatePassword(PASSWORD);
+        return error == null ? 0 : error.length();
+    }
+
+    private static int requireUser(User user) {
+        if (user == null) {
+            throw new IllegalStateException("Benchmark login failed");
+        }
+        return user.getId();
+    }
+}
@@ -0,0 +1,39 @@
+import airfoil.jmh.ScoringKernel;
+import java.util.Random;
+
+/**
+ * {@link ScoringKernel} over a synthetic catalog with every airfoil as a candidate.
+ */
+public class ScoringFixture implements ScoringKernel {
+    private static final int FLIGHTS = 1024;
+
+    private final ScoringModel model = new WeightedScoringModel();
+    private final double[] reynolds = new double[FLIGHTS];
+    private final double[] requiredCl = new double[FLIGHTS];
+    private AirfoilCatalog catalog;
+    private int[] candidates;
+    private double[] out;
+
+    @Override
+    public void setUp(int size) {
+        Random random = new Random(7);
+        catalog = BenchData.syntheticCatalog(size, random);
+        candidates = new int[size];
+        for (int i = 0; i < size; i++) {
+            candidates[i] = i;
+        }
+        out = new double[size];
+        for (int q = 0; q < FLIGHTS; q++) {
+            FlightParameters flight = BenchData.randomFlight(random);
+            reynolds[q] = flight.calculateReynoldsNumber();
+            requiredCl[q] = flight.calculateRequiredCl();
+        }
+    }
+
+    @Override
+    public double scoreAll(int flight) {
+        int q = flight & (FLIGHTS - 1);
+        model.scoreAll(catalog, candidates, candidates.length, reynolds[q], requiredCl[q], out);
+        return out[q % out.length];
+    }
+}
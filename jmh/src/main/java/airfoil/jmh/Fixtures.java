@@ -0,0 +1,18 @@
+package airfoil.jmh;
+
+/**
+ * Loads the unnamed-package fixtures that call into the application classes,
+ * which code in a named package cannot reference directly.
+ */
+final class Fixtures {
+    private Fixtures() {
+    }
+
+    static <T> T load(String className, Class<T> type) {
+        try {
+            return type.cast(Class.forName(className).getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot load benchmark fixture " + className, e);
+        }
+    }
+}
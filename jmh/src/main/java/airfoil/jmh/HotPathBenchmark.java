@@ -0,0 +1,82 @@
+package airfoil.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput (ops/s) and sampled latency percentiles (p50, p99, ...) of the
+ * service hot paths, per catalog size. Each size is seeded into a fresh
+ * temporary SQLite file, so the real database is never touched; the thread
+ * count is JMH's {@code -t} option and allocation per operation comes from
+ * the GC profiler the {@code jmh} task enables.
+ *
+ * Run from the project folder:
+ *   gradle :jmh:jmh -PjmhArgs="HotPathBenchmark -p size=10,1000 -t 4"
+ * (add {@code -tu us} to read the latency percentiles in microseconds)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class HotPathBenchmark {
+    @Param({ "10", "1000", "100000", "1000000" })
+    public int size;
+
+    private HotPaths paths;
+
+    /** Walks the synthetic flights, one position per benchmark thread. */
+    @State(Scope.Thread)
+    public static class FlightCursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        paths = Fixtures.load("HotPathFixture", HotPaths.class);
+        paths.setUp(size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        paths.tearDown();
+    }
+
+    @Benchmark
+    public int recommend(FlightCursor cursor) {
+        return paths.recommend(cursor.next++);
+    }
+
+    @Benchmark
+    public int getAllAirfoils() {
+        return paths.getAllAirfoils();
+    }
+
+    @Benchmark
+    public int login() {
+        return paths.login();
+    }
+
+    @Benchmark
+    public int loginUncached() {
+        return paths.loginUncached();
+    }
+
+    @Benchmark
+    public int validatePassword() {
+        return paths.validatePassword();
+    }
+}
@@ -0,0 +1,29 @@
+package airfoil.jmh;
+
+/**
+ * Service hot paths measured by {@link HotPathBenchmark}; implemented by the
+ * unnamed-package {@code HotPathFixture}. Every operation returns something
+ * derived from its result so the JIT cannot drop the call.
+ */
+public interface HotPaths {
+    /** Seed a fresh temporary SQLite file with {@code airfoils} synthetic airfoils and a user. */
+    void setUp(int airfoils) throws Exception;
+
+    /** Close the database and delete the temporary files. */
+    void tearDown() throws Exception;
+
+    /** AirfoilService.recommendAirfoils for the {@code flight}-th synthetic flight (full ranking, not cached). */
+    int recommend(int flight);
+
+    /** DatabaseService.getAllAirfoils (JDBC read of the whole table). */
+    int getAllAirfoils();
+
+    /** AuthenticationService.login with a warm login cache. */
+    int login();
+
+    /** The same with the cache cleared first (one PBKDF2 verification). */
+    int loginUncached();
+
+    /** AuthenticationService.validatePassword. */
+    int validatePassword();
+}
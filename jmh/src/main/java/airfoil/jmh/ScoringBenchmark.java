@@ -0,0 +1,58 @@
+package airfoil.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the {@code WeightedScoringModel} kernel: one operation
+ * scores the whole catalog for one flight, and the {@code airfoils} counter
+ * reports scored airfoils per second (1e9 divided by it is ns/airfoil). The
+ * GC profiler's {@code gc.alloc.rate.norm} should stay at zero.
+ *
+ * Run from the project folder:
+ *   gradle :jmh:jmh -PjmhArgs="ScoringBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoringBenchmark {
+    @Param({ "1000", "10000", "100000", "1000000" })
+    public int size;
+
+    private ScoringKernel kernel;
+    private int flight;
+
+    /** Airfoils scored, reported by JMH as a rate next to the operation rate. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Scored {
+        public long airfoils;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        kernel = Fixtures.load("ScoringFixture", ScoringKernel.class);
+        kernel.setUp(size);
+    }
+
+    @Benchmark
+    public double scoreAll(Scored scored) {
+        scored.airfoils += size;
+        return kernel.scoreAll(flight++);
+    }
+}
@@ -0,0 +1,14 @@
+package airfoil.jmh;
+
+/**
+ * The {@code WeightedScoringModel.scoreAll} kernel over a synthetic catalog,
+ * measured by {@link ScoringBenchmark}; implemented by the unnamed-package
+ * {@code ScoringFixture}.
+ */
+public interface ScoringKernel {
+    /** Build a catalog of {@code airfoils} synthetic airfoils and a set of flights. */
+    void setUp(int airfoils);
+
+    /** Score every airfoil for the {@code flight}-th flight; returns one of the scores. */
+    double scoreAll(int flight);
+}